@@ -0,0 +1,88 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.palantir.gradle.revapi.config.SyntheticConfigs;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Reading the results written by revapi's text reporter, which is done by the report and accept breaks tasks. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalysisResultsBenchmark {
+    @Param({"100", "10000"})
+    public int numResults;
+
+    private File resultsFile;
+
+    @Setup(Level.Trial)
+    public final void setUp() throws IOException {
+        resultsFile = File.createTempFile("revapi-results", ".json");
+        try (Writer writer = Files.newBufferedWriter(resultsFile.toPath(), StandardCharsets.UTF_8)) {
+            // Mirrors gradle-revapi-results.ftl, including its trailing commas
+            writer.write("{\n    \"archiveNames\": \"synthetic-1.0.0.jar\",\n    \"results\": [\n");
+            for (int index = 0; index < numResults; index++) {
+                String element = SyntheticConfigs.element(index % 50, index);
+                writer.write("        {\n");
+                writer.write("            \"code\": \"" + SyntheticConfigs.CODES[index % SyntheticConfigs.CODES.length]
+                        + "\",\n");
+                writer.write("            \"oldElement\": \"" + element + "\",\n");
+                writer.write("            \"newElement\": " + (index % 3 == 0 ? "null" : "\"" + element + "\"")
+                        + ",\n");
+                writer.write("            \"description\": \"Method was removed.\",\n");
+                writer.write("            \"oldArchiveName\": \"synthetic-0.9.0.jar\",\n");
+                writer.write("            \"newArchiveName\": \"synthetic-1.0.0.jar\",\n");
+                writer.write("            \"classification\": {\n");
+                writer.write("                \"BINARY\": \"BREAKING\",\n");
+                writer.write("                \"SOURCE\": \"BREAKING\",\n");
+                writer.write("            }\n        },\n");
+            }
+            writer.write("    ]\n}\n");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public final void tearDown() {
+        resultsFile.delete();
+    }
+
+    @Benchmark
+    public final AnalysisResults fromFile() {
+        return AnalysisResults.fromFile(resultsFile);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.palantir.gradle.revapi.corpus.ApiCorpus;
+import com.palantir.gradle.revapi.corpus.ApiCorpusGenerator;
+import com.palantir.gradle.revapi.corpus.ApiCorpusSpec;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Getting the {@link ArchiveMetadata} of a jar the first time it is seen, by scanning it, against in a later build,
+ * by reading it back from the {@link ArchiveMetadataStore}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArchiveMetadataBenchmark {
+    @Param({"1000", "10000"})
+    public int classCount;
+
+    private File jar;
+    private ArchiveMetadataStore store;
+
+    @Setup(Level.Trial)
+    public final void setUp() throws IOException {
+        ApiCorpus corpus = ApiCorpusGenerator.generate(
+                new ApiCorpusSpec(classCount, 20, 3, 0.1, 0.01, 0), new File("build/revapi-corpus"));
+        jar = corpus.newJar();
+        store = new ArchiveMetadataStore(Files.createTempDirectory("revapi-archive-metadata").toFile());
+        store.write(jar, jar.length(), jar.lastModified(), ArchiveMetadataCache.readMetadata(jar));
+    }
+
+    @Benchmark
+    public final ArchiveMetadata scan() {
+        return ArchiveMetadataCache.readMetadata(jar);
+    }
+
+    @Benchmark
+    public final Optional<ArchiveMetadata> readFromStore() {
+        return store.read(jar, jar.length(), jar.lastModified());
+    }
+}
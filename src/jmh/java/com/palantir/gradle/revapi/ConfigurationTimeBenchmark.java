@@ -0,0 +1,161 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.ByteStreams;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.gradle.testkit.runner.GradleRunner;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes gradle to configure a build with the plugin applied to {@code numProjects} projects, and
+ * counts how many memoised providers were evaluated and git processes were run while doing so. Both should be zero,
+ * as the plugin is meant to put off all its work until tasks run. {@code help} configures every project, and
+ * {@code revapi} additionally creates and configures the revapi tasks of every project, without running them. The
+ * builds are run by TestKit in a daemon that is reused between iterations, so after warmup the time is mostly
+ * configuration. JMH sums event counters over iterations, so only a single measurement iteration is run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 1)
+@Fork(1)
+public class ConfigurationTimeBenchmark {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Param({"10", "100", "500"})
+    public int numProjects;
+
+    @Param({"help", "revapi"})
+    public String task;
+
+    private File projectDir;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class ConfigurationCounters {
+        public double providerEvaluations;
+        public double gitProcesses;
+    }
+
+    @Setup(Level.Trial)
+    public final void setUp() throws IOException, InterruptedException {
+        projectDir = Files.createTempDirectory("revapi-configuration-time").toFile();
+
+        write("settings.gradle", IntStream.range(0, numProjects)
+                .mapToObj(index -> "include 'project-" + index + "'\n")
+                .collect(Collectors.joining()));
+        write("build.gradle", String.join(
+                "\n",
+                "plugins {",
+                "    id 'com.palantir.revapi' apply false",
+                "}",
+                "",
+                "subprojects {",
+                "    apply plugin: 'java-library'",
+                "    apply plugin: 'com.palantir.revapi'",
+                "    group = 'com.palantir.benchmark'",
+                "}",
+                ""));
+        write("project-0/build.gradle", "");
+        for (int index = 1; index < numProjects; index++) {
+            write("project-" + index + "/build.gradle", String.join(
+                    "\n",
+                    "dependencies {",
+                    "    api project(':project-" + (index - 1) + "')",
+                    "}",
+                    ""));
+        }
+
+        // So that the git backed old versions have some tags to find, if they are ever evaluated
+        git("init");
+        git("add", ".");
+        git("-c", "user.name=benchmark", "-c", "user.email=benchmark@example.com", "commit", "-m", "initial");
+        git("tag", "1.0.0");
+    }
+
+    @Setup(Level.Iteration)
+    public final void deleteSummary() throws IOException {
+        Files.deleteIfExists(summaryFile().toPath());
+    }
+
+    @Benchmark
+    public final String configure(ConfigurationCounters counters) throws IOException {
+        String output = GradleRunner.create()
+                .withProjectDir(projectDir)
+                .withPluginClasspath()
+                .withArguments(task, "--dry-run", "--stacktrace")
+                .build()
+                .getOutput();
+
+        // The metrics service only writes a summary if it was used, so no summary means nothing was evaluated
+        if (summaryFile().exists()) {
+            JsonNode summary = OBJECT_MAPPER.readTree(summaryFile());
+            counters.providerEvaluations = summary.get("providerEvaluations").asLong();
+            counters.gitProcesses = summary.get("gitProcesses").asLong();
+        }
+        return output;
+    }
+
+    private File summaryFile() {
+        return new File(projectDir, "build/revapi/revapi-metrics-summary.json");
+    }
+
+    private void write(String path, String contents) throws IOException {
+        File file = new File(projectDir, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void git(String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+        Process process = new ProcessBuilder(command)
+                .directory(projectDir)
+                .redirectErrorStream(true)
+                .start();
+        ByteStreams.exhaust(process.getInputStream());
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("Failed to run " + command);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.google.common.collect.ImmutableSet;
+import com.palantir.gradle.revapi.corpus.ApiCorpus;
+import com.palantir.gradle.revapi.corpus.ApiCorpusGenerator;
+import com.palantir.gradle.revapi.corpus.ApiCorpusSpec;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.revapi.API;
+import org.revapi.simple.FileArchive;
+
+/**
+ * Runs the whole analysis and report over a generated API corpus, the same way {@code revapiAnalyze} and
+ * {@code revapiReport} do but without gradle, to see how time and peak heap scale with the size of the API. Generated
+ * corpora are cached in {@code build/revapi-corpus}, as generating the largest one takes several minutes. Peak heap is
+ * the sum of the peaks of each heap pool, so is an upper bound. JMH sums event counters over iterations, so only a
+ * single measurement iteration is run; use more forks for more samples.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgs = "-Xmx8g")
+public class EndToEndAnalysisBenchmark {
+    private static final List<MemoryPoolMXBean> HEAP_POOLS = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .collect(Collectors.toList());
+
+    @Param({"1000", "10000", "100000"})
+    public int classCount;
+
+    @Param({"20"})
+    public int membersPerClass;
+
+    @Param({"3"})
+    public int dependencyDepth;
+
+    @Param({"0.1"})
+    public double immutablesFraction;
+
+    @Param({"0.01"})
+    public double breakDensity;
+
+    private final RevapiEngines engines = new RevapiEngines();
+    private ApiCorpus corpus;
+    private File outputDirectory;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class AnalysisCounters {
+        public double peakHeapMegabytes;
+        public double differences;
+    }
+
+    @Setup(Level.Trial)
+    public final void setUp() throws IOException {
+        corpus = ApiCorpusGenerator.generate(
+                new ApiCorpusSpec(classCount, membersPerClass, dependencyDepth, immutablesFraction, breakDensity, 0),
+                new File("build/revapi-corpus"));
+        outputDirectory = Files.createTempDirectory("revapi-end-to-end").toFile();
+    }
+
+    @Setup(Level.Iteration)
+    public final void resetPeakHeap() {
+        System.gc();
+        HEAP_POOLS.forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    @Benchmark
+    public final String analyzeAndReport(AnalysisCounters counters) throws Exception {
+        File analysisResultsFile = new File(outputDirectory, "revapi-results.json");
+        ModelNode revapiConfig = RevapiAnalysis.config(
+                ImmutableSet.of(corpus.oldJar(), corpus.newJar()),
+                analysisResultsFile,
+                Collections.emptySet(),
+                RevapiConfig.empty());
+
+        RevapiAnalysis.analyze(
+                engines,
+                api(corpus.oldJar()),
+                api(corpus.newJar()),
+                revapiConfig,
+                PhaseTimer.noOp(),
+                new TransformMetrics());
+
+        AnalysisResults results = AnalysisResults.fromFile(analysisResultsFile);
+        String report = BreaksReport.write(
+                results, new File(outputDirectory, "junit.xml"), ":revapiAcceptBreak", ":revapiAcceptAllBreaks");
+
+        counters.peakHeapMegabytes = HEAP_POOLS.stream()
+                        .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                        .sum()
+                / (1024.0 * 1024.0);
+        counters.differences = results.results().size();
+        return report;
+    }
+
+    private API api(File jar) {
+        return API.builder()
+                .addArchives(Collections.singletonList(new FileArchive(jar)))
+                .addSupportArchives(corpus.dependencyJars().stream()
+                        .map(FileArchive::new)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
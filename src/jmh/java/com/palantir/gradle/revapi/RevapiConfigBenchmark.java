@@ -0,0 +1,83 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.google.common.collect.ImmutableSet;
+import com.palantir.gradle.revapi.config.SyntheticConfigs;
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Every revapiAnalyze merges the config of each extension and serializes it to json to hand to revapi. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RevapiConfigBenchmark {
+    @Param({"100", "10000"})
+    public int numAcceptedBreaks;
+
+    private RevapiConfig[] configs;
+    private RevapiConfig merged;
+
+    @Setup(Level.Trial)
+    public final void setUp() {
+        ArrayNode whitelistedChecks = RevapiConfig.createArrayNode();
+        for (String code : SyntheticConfigs.CODES) {
+            whitelistedChecks.add(code);
+        }
+
+        configs = new RevapiConfig[] {
+            RevapiConfig.empty().withTextReporter("gradle-revapi-results.ftl", new File("build/revapi/results.json")),
+            AcceptedBreaksTransform.configFor(
+                    ImmutableSet.copyOf(SyntheticConfigs.acceptedBreaks(0, numAcceptedBreaks))),
+            RevapiConfig.empty().withExtension(CheckWhitelist.EXTENSION_ID, whitelistedChecks),
+            ImmutablesFilter.CONFIG,
+        };
+        merged = RevapiConfig.mergeAll(configs);
+    }
+
+    @Benchmark
+    public final RevapiConfig mergeAll() {
+        return RevapiConfig.mergeAll(configs);
+    }
+
+    @Benchmark
+    public final String configAsString() {
+        return merged.configAsString();
+    }
+
+    @Benchmark
+    public final ModelNode toModelNode() {
+        return merged.toModelNode();
+    }
+}
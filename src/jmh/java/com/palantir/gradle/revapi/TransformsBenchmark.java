@@ -0,0 +1,161 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.google.common.collect.ImmutableSet;
+import com.palantir.gradle.revapi.config.AcceptedBreak;
+import com.palantir.gradle.revapi.config.SyntheticConfigs;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.revapi.API;
+import org.revapi.AnalysisContext;
+import org.revapi.Archive;
+import org.revapi.Difference;
+import org.revapi.DifferenceTransform;
+import org.revapi.Element;
+import org.revapi.simple.SimpleElement;
+
+/**
+ * The plugin's transforms are called for every difference revapi finds, so this measures the cost per difference.
+ * Half of the differences have been accepted. {@link CheckWhitelist} and {@link ImmutablesFilter} are given differences
+ * without elements, as building real java elements needs a full revapi-java analysis; for {@link ImmutablesFilter}
+ * this measures the dispatch on the difference code rather than the annotation lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(TransformsBenchmark.NUM_DIFFERENCES)
+public class TransformsBenchmark {
+    static final int NUM_DIFFERENCES = 10_000;
+
+    @Param({"100", "10000"})
+    public int numAcceptedBreaks;
+
+    private final Difference[] differences = new Difference[NUM_DIFFERENCES];
+    private final Element[] oldElements = new Element[NUM_DIFFERENCES];
+    private final Element[] newElements = new Element[NUM_DIFFERENCES];
+
+    private AcceptedBreaksTransform acceptedBreaksTransform;
+    private CheckWhitelist checkWhitelist;
+    private ImmutablesFilter immutablesFilter;
+
+    @Setup(Level.Trial)
+    public final void setUp() {
+        List<AcceptedBreak> acceptedBreaks = SyntheticConfigs.acceptedBreaks(0, numAcceptedBreaks);
+        for (int index = 0; index < NUM_DIFFERENCES; index++) {
+            String code = SyntheticConfigs.CODES[index % SyntheticConfigs.CODES.length];
+            differences[index] = Difference.builder().withCode(code).withName(code).build();
+            // Every other difference has a matching accepted break, as long as there are enough of them
+            String element = SyntheticConfigs.element(index % 2 == 0 ? 0 : 1, index);
+            oldElements[index] = new SyntheticElement(element);
+            newElements[index] = new SyntheticElement(element);
+        }
+
+        acceptedBreaksTransform = new AcceptedBreaksTransform();
+        acceptedBreaksTransform.initialize(
+                contextWithConfiguration(AcceptedBreaksTransform.configFor(ImmutableSet.copyOf(acceptedBreaks))));
+
+        checkWhitelist = new CheckWhitelist();
+        checkWhitelist.initialize(contextWithConfiguration(RevapiConfig.empty()
+                .withExtension(CheckWhitelist.EXTENSION_ID, RevapiConfig.createArrayNode()
+                        .add(SyntheticConfigs.CODES[0])
+                        .add(SyntheticConfigs.CODES[3]))));
+
+        immutablesFilter = new ImmutablesFilter();
+        immutablesFilter.initialize(contextWithConfiguration(ImmutablesFilter.CONFIG));
+    }
+
+    @Benchmark
+    public final void acceptedBreaks(Blackhole blackhole) {
+        for (int index = 0; index < NUM_DIFFERENCES; index++) {
+            blackhole.consume(
+                    acceptedBreaksTransform.transform(oldElements[index], newElements[index], differences[index]));
+        }
+    }
+
+    @Benchmark
+    public final void checkWhitelist(Blackhole blackhole) {
+        transformWithoutElements(checkWhitelist, blackhole);
+    }
+
+    @Benchmark
+    public final void immutablesFilter(Blackhole blackhole) {
+        transformWithoutElements(immutablesFilter, blackhole);
+    }
+
+    private void transformWithoutElements(DifferenceTransform<?> transform, Blackhole blackhole) {
+        for (int index = 0; index < NUM_DIFFERENCES; index++) {
+            blackhole.consume(transform.transform(null, null, differences[index]));
+        }
+    }
+
+    private static AnalysisContext contextWithConfiguration(RevapiConfig revapiConfig) {
+        ModelNode extension = ModelNode.fromJSONString(revapiConfig.configAsString()).get(0);
+        return AnalysisContext.builder().build().copyWithConfiguration(extension.get("configuration"));
+    }
+
+    private static final class SyntheticElement extends SimpleElement {
+        private static final API SYNTHETIC_API = API.builder().build();
+
+        private final String fullHumanReadableString;
+
+        SyntheticElement(String fullHumanReadableString) {
+            this.fullHumanReadableString = fullHumanReadableString;
+        }
+
+        @Nonnull
+        @Override
+        public API getApi() {
+            return SYNTHETIC_API;
+        }
+
+        @Override
+        public Archive getArchive() {
+            return null;
+        }
+
+        @Nonnull
+        @Override
+        public String getFullHumanReadableString() {
+            return fullHumanReadableString;
+        }
+
+        @Override
+        public int compareTo(@Nonnull Element other) {
+            return fullHumanReadableString.compareTo(other.getFullHumanReadableString());
+        }
+    }
+}
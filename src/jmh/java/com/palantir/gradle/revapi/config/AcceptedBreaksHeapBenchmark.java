@@ -0,0 +1,141 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how much heap a large, synthetic revapi.yml takes up once parsed. The {@code legacy} representation mirrors
+ * how accepted breaks used to be held (a {@code TreeSet} of breaks, each with its own strings and lazily created
+ * comparator), so the {@code retainedBytesPerBreak} counters of the two representations can be compared directly.
+ * JMH sums event counters over iterations, so only a single measurement iteration is run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class AcceptedBreaksHeapBenchmark {
+    private static final ObjectMapper OBJECT_MAPPER = GradleRevapiConfig.newYamlObjectMapper();
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    @Param({"100000"})
+    public int numAcceptedBreaks;
+
+    @Param({"compact", "legacy"})
+    public String representation;
+
+    private String yml;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class HeapCounters {
+        public double retainedBytesPerBreak;
+    }
+
+    @Setup(Level.Trial)
+    public final void setUp() {
+        yml = SyntheticConfigs.acceptedBreaksYml(numAcceptedBreaks);
+    }
+
+    @Benchmark
+    public final Object parse(HeapCounters counters) throws IOException {
+        long before = usedHeapAfterGc();
+        Object parsed = "legacy".equals(representation)
+                ? OBJECT_MAPPER.readValue(yml, LegacyConfig.class)
+                : OBJECT_MAPPER.readValue(yml, GradleRevapiConfig.class);
+        counters.retainedBytesPerBreak = (double) (usedHeapAfterGc() - before) / numAcceptedBreaks;
+        return parsed;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    public static final class LegacyConfig {
+        @JsonProperty("acceptedBreaks")
+        public SortedMap<String, SortedMap<String, SortedSet<LegacyAcceptedBreak>>> acceptedBreaks;
+    }
+
+    public static final class LegacyAcceptedBreak implements Comparable<LegacyAcceptedBreak> {
+        @JsonProperty("code")
+        public String code;
+
+        @JsonProperty("old")
+        public Optional<String> oldElement = Optional.empty();
+
+        @JsonProperty("new")
+        public Optional<String> newElement = Optional.empty();
+
+        @JsonProperty("justification")
+        public Justification justification;
+
+        private volatile Comparator<LegacyAcceptedBreak> comparator;
+
+        private Comparator<LegacyAcceptedBreak> comparator() {
+            if (comparator == null) {
+                Comparator<Optional<String>> comparingEmptiesFirst = Comparator.comparing(
+                        element -> element.orElse(null), Comparator.nullsFirst(Comparator.naturalOrder()));
+                comparator = Comparator.<LegacyAcceptedBreak, String>comparing(acceptedBreak -> acceptedBreak.code)
+                        .thenComparing(acceptedBreak -> acceptedBreak.oldElement, comparingEmptiesFirst)
+                        .thenComparing(acceptedBreak -> acceptedBreak.newElement, comparingEmptiesFirst);
+            }
+            return comparator;
+        }
+
+        @Override
+        public int compareTo(LegacyAcceptedBreak other) {
+            return comparator().compare(this, other);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof LegacyAcceptedBreak && compareTo((LegacyAcceptedBreak) other) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return code.hashCode();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The config is parsed by every project during configuration, looked up for each project, and merged into whenever
+ * breaks are accepted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GradleRevapiConfigBenchmark {
+    private static final ObjectMapper OBJECT_MAPPER = GradleRevapiConfig.newYamlObjectMapper();
+
+    @Param({"1000", "100000"})
+    public int numAcceptedBreaks;
+
+    private String yml;
+    private GradleRevapiConfig config;
+    private GroupAndName groupAndName;
+    private GroupNameVersion groupNameVersion;
+    private Set<AcceptedBreak> newAcceptedBreaks;
+
+    @Setup(Level.Trial)
+    public final void setUp() throws IOException {
+        yml = SyntheticConfigs.acceptedBreaksYml(numAcceptedBreaks);
+        config = OBJECT_MAPPER.readValue(yml, GradleRevapiConfig.class);
+        groupAndName = GroupAndName.builder()
+                .group(SyntheticConfigs.group())
+                .name(SyntheticConfigs.projectName(17))
+                .build();
+        groupNameVersion = groupAndName.withVersion(Version.fromString(SyntheticConfigs.version(19)));
+
+        // What revapiAcceptAllBreaks would add: a project's worth of new breaks, in no particular order
+        List<AcceptedBreak> acceptedBreaks = SyntheticConfigs.acceptedBreaks(17, numAcceptedBreaks / 100);
+        newAcceptedBreaks = new LinkedHashSet<>(acceptedBreaks);
+    }
+
+    @Benchmark
+    public final GradleRevapiConfig parseYaml() throws IOException {
+        return OBJECT_MAPPER.readValue(yml, GradleRevapiConfig.class);
+    }
+
+    @Benchmark
+    public final Set<AcceptedBreak> acceptedBreaksFor() {
+        return config.acceptedBreaksFor(groupAndName);
+    }
+
+    @Benchmark
+    public final GradleRevapiConfig mergeAcceptedBreaks() {
+        return config.addAcceptedBreaks(groupNameVersion, newAcceptedBreaks);
+    }
+}
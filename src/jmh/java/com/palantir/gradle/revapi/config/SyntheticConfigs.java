@@ -0,0 +1,112 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Large synthetic inputs for the benchmarks, shaped like the config of a big multi-project repo. */
+public final class SyntheticConfigs {
+    public static final String[] CODES = {
+        "java.method.removed",
+        "java.method.returnTypeChanged",
+        "java.method.numberOfParametersChanged",
+        "java.class.removed",
+        "java.class.nonFinalClassInheritsFromNewClass",
+        "java.field.removed",
+        "java.annotation.removed",
+        "java.method.addedToInterface",
+    };
+
+    private static final String[] JUSTIFICATIONS = {
+        "No one uses this", "Internal API", "Generated code", "Approved by API review", "Breaking release",
+    };
+
+    private static final int VERSIONS = 20;
+    private static final int PROJECTS_PER_VERSION = 50;
+
+    private SyntheticConfigs() {}
+
+    public static String group() {
+        return "com.palantir.synthetic";
+    }
+
+    public static String projectName(int project) {
+        return "project-" + project;
+    }
+
+    public static String version(int version) {
+        return "1." + version + ".0";
+    }
+
+    /** The human readable string of an element, which is what accepted breaks and analysis results refer to. */
+    public static String element(int project, int index) {
+        return "method void com.palantir.synthetic.project" + project + ".Class" + index + "::method" + (index % 7)
+                + "(java.lang.String, int)";
+    }
+
+    public static String justification(int index) {
+        return JUSTIFICATIONS[index % JUSTIFICATIONS.length];
+    }
+
+    /**
+     * A revapi.yml with roughly {@code numAcceptedBreaks} accepted breaks spread over 20 versions of 50 projects. The
+     * same elements tend to be broken repeatedly across releases, so elements repeat across versions but are unique
+     * within a project.
+     */
+    public static String acceptedBreaksYml(int numAcceptedBreaks) {
+        StringBuilder builder = new StringBuilder("acceptedBreaks:\n");
+        int breaksPerProject = Math.max(1, numAcceptedBreaks / (VERSIONS * PROJECTS_PER_VERSION));
+
+        for (int version = 0; version < VERSIONS; version++) {
+            builder.append("  \"").append(version(version)).append("\":\n");
+            for (int project = 0; project < PROJECTS_PER_VERSION; project++) {
+                builder.append("    ").append(group()).append(':').append(projectName(project)).append(":\n");
+                for (int breakIndex = 0; breakIndex < breaksPerProject; breakIndex++) {
+                    String element = element(project, breakIndex);
+                    builder.append("    - code: \"")
+                            .append(CODES[breakIndex % CODES.length])
+                            .append("\"\n      old: \"")
+                            .append(element)
+                            .append("\"\n      new: \"")
+                            .append(element)
+                            .append(" @ v")
+                            .append(version(version))
+                            .append("\"\n      justification: \"")
+                            .append(justification(breakIndex + version))
+                            .append("\"\n");
+                }
+            }
+        }
+
+        return builder.toString();
+    }
+
+    /** {@code numAcceptedBreaks} accepted breaks of a single project, in no particular order. */
+    public static List<AcceptedBreak> acceptedBreaks(int project, int numAcceptedBreaks) {
+        List<AcceptedBreak> acceptedBreaks = new ArrayList<>(numAcceptedBreaks);
+        for (int index = numAcceptedBreaks - 1; index >= 0; index--) {
+            acceptedBreaks.add(AcceptedBreak.builder()
+                    .code(CODES[index % CODES.length])
+                    .oldElement(element(project, index))
+                    .newElement(element(project, index))
+                    .justification(justification(index))
+                    .build());
+        }
+        return acceptedBreaks;
+    }
+}
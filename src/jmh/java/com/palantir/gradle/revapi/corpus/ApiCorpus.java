@@ -0,0 +1,46 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi.corpus;
+
+import java.io.File;
+import java.util.List;
+
+/** The jars of an {@link ApiCorpusGenerator generated} API corpus. */
+public final class ApiCorpus {
+    private final File oldJar;
+    private final File newJar;
+    private final List<File> dependencyJars;
+
+    ApiCorpus(File oldJar, File newJar, List<File> dependencyJars) {
+        this.oldJar = oldJar;
+        this.newJar = newJar;
+        this.dependencyJars = dependencyJars;
+    }
+
+    public File oldJar() {
+        return oldJar;
+    }
+
+    public File newJar() {
+        return newJar;
+    }
+
+    /** Needed by both the old and new API. */
+    public List<File> dependencyJars() {
+        return dependencyJars;
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi.corpus;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+/**
+ * Generates reproducible pairs of old and new API jars for benchmarking the whole analysis. The API classes reference
+ * each other and a chain of dependency jars, a fraction of them are Immutables classes whose non-public abstract
+ * methods change (which {@code ImmutablesFilter} should ignore), and a fraction of them have a break injected into the
+ * new version. Generating a large corpus is slow, so corpora are kept in a cache directory keyed by their spec.
+ */
+public final class ApiCorpusGenerator {
+    private static final int CLASSES_PER_PACKAGE = 500;
+    private static final int CLASSES_PER_COMPILATION = 2000;
+    private static final String API_PACKAGE = "corpus.api";
+    private static final String COMPLETE_MARKER = "complete";
+
+    private final ApiCorpusSpec spec;
+    private final File directory;
+    private final JavaCompiler compiler;
+
+    private ApiCorpusGenerator(ApiCorpusSpec spec, File directory) {
+        this.spec = spec;
+        this.directory = directory;
+        this.compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Generating an API corpus needs a JDK, not a JRE");
+        }
+    }
+
+    /** Returns the corpus for {@code spec}, generating it in a subdirectory of {@code cacheDirectory} if needed. */
+    public static ApiCorpus generate(ApiCorpusSpec spec, File cacheDirectory) {
+        File directory = new File(cacheDirectory, spec.key());
+        ApiCorpus corpus = corpusIn(directory, spec);
+        if (new File(directory, COMPLETE_MARKER).isFile()) {
+            return corpus;
+        }
+
+        try {
+            deleteRecursively(directory.toPath());
+            Files.createDirectories(directory.toPath());
+            new ApiCorpusGenerator(spec, directory).generate(corpus);
+            Files.createFile(new File(directory, COMPLETE_MARKER).toPath());
+            return corpus;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to generate API corpus in " + directory, e);
+        }
+    }
+
+    private static ApiCorpus corpusIn(File directory, ApiCorpusSpec spec) {
+        List<File> dependencyJars = new ArrayList<>();
+        dependencyJars.add(new File(directory, "immutables-annotations.jar"));
+        for (int level = 0; level < spec.dependencyDepth(); level++) {
+            dependencyJars.add(new File(directory, "dependency-" + level + ".jar"));
+        }
+        return new ApiCorpus(
+                new File(directory, "old/corpus-api.jar"), new File(directory, "new/corpus-api.jar"), dependencyJars);
+    }
+
+    private void generate(ApiCorpus corpus) throws IOException {
+        List<File> dependencyJars = corpus.dependencyJars();
+
+        compileToJar(
+                Collections.singletonMap(
+                        "org/immutables/value/Value.java",
+                        "package org.immutables.value;\n\npublic @interface Value {\n    @interface Immutable {}\n}\n"),
+                Collections.emptyList(),
+                dependencyJars.get(0));
+
+        // Compiled from the deepest dependency up, as each level references the next one down
+        for (int level = spec.dependencyDepth() - 1; level >= 0; level--) {
+            compileToJar(
+                    dependencySources(level),
+                    dependencyJars.subList(level + 2, dependencyJars.size()),
+                    dependencyJars.get(level + 1));
+        }
+
+        compileApi(false, dependencyJars, corpus.oldJar());
+        compileApi(true, dependencyJars, corpus.newJar());
+    }
+
+    private Map<String, String> dependencySources(int level) {
+        Map<String, String> sources = new TreeMap<>();
+        for (int index = 0; index < dependencyClassCount(); index++) {
+            StringBuilder source = new StringBuilder()
+                    .append("package corpus.dep").append(level).append(";\n\n")
+                    .append("public class Dep").append(index).append(" {\n")
+                    .append("    public String name() { return null; }\n");
+            if (level < spec.dependencyDepth() - 1) {
+                source.append("    public corpus.dep").append(level + 1).append(".Dep").append(index)
+                        .append(" next() { return null; }\n");
+            }
+            source.append("}\n");
+            sources.put("corpus/dep" + level + "/Dep" + index + ".java", source.toString());
+        }
+        return sources;
+    }
+
+    private int dependencyClassCount() {
+        return Math.max(10, spec.classCount() / 100);
+    }
+
+    private void compileApi(boolean newVersion, List<File> dependencyJars, File jar) throws IOException {
+        Path classesDirectory = Files.createTempDirectory(directory.toPath(), "classes");
+        try {
+            for (int start = 0; start < spec.classCount(); start += CLASSES_PER_COMPILATION) {
+                Map<String, String> sources = new TreeMap<>();
+                for (int index = start; index < Math.min(spec.classCount(), start + CLASSES_PER_COMPILATION); index++) {
+                    sources.put(apiClassPath(index), apiClassSource(index, newVersion));
+                }
+
+                // Earlier batches are on the classpath, as classes reference the class before them
+                List<File> classpath = new ArrayList<>(dependencyJars);
+                classpath.add(classesDirectory.toFile());
+                compile(sources, classpath, classesDirectory);
+            }
+            jar(classesDirectory, jar);
+        } finally {
+            deleteRecursively(classesDirectory);
+        }
+    }
+
+    private static String apiPackage(int index) {
+        return API_PACKAGE + ".p" + (index / CLASSES_PER_PACKAGE);
+    }
+
+    private static String apiClassPath(int index) {
+        return apiPackage(index).replace('.', '/') + "/Api" + index + ".java";
+    }
+
+    private String apiClassSource(int index, boolean newVersion) {
+        Random random = new Random(spec.seed() * 31 + index);
+        ClassKind kind = ClassKind.choose(random, spec.immutablesFraction());
+        boolean broken = newVersion && random.nextDouble() < spec.breakDensity();
+        int breakKind = random.nextInt(4);
+
+        StringBuilder source = new StringBuilder().append("package ").append(apiPackage(index)).append(";\n\n");
+        if (kind == ClassKind.IMMUTABLES) {
+            source.append("@org.immutables.value.Value.Immutable\n");
+        }
+        source.append(kind.declaration(broken && breakKind == 3)).append(" Api").append(index).append(" {\n");
+
+        int methods = Math.max(2, spec.membersPerClass() * 3 / 4);
+        int fields = spec.membersPerClass() - methods;
+        for (int field = 0; field < fields; field++) {
+            source.append("    public static final int CONSTANT_").append(field).append(" = ").append(field)
+                    .append(";\n");
+        }
+
+        for (int method = 0; method < methods; method++) {
+            if (broken && breakKind == 0 && method == methods - 1) {
+                continue;
+            }
+            String returnType = broken && breakKind == 1 && method == 0 ? "Object" : "String";
+            String parameters = broken && breakKind == 2 && method == 1 ? "int arg0, String arg1" : "int arg0";
+            source.append(kind.method(returnType, "method" + method, parameters, "null"));
+        }
+
+        if (broken && breakKind == 3 && kind != ClassKind.CLASS) {
+            source.append(kind.method("String", "added", "", "null"));
+        }
+        if (kind == ClassKind.IMMUTABLES) {
+            // Immutables generates the implementation, so changing a non-public abstract method is not a break
+            source.append("    protected abstract ").append(newVersion ? "long" : "int").append(" hidden();\n");
+        }
+        if (index > 0) {
+            source.append(kind.method(
+                    apiPackage(index - 1) + ".Api" + (index - 1), "previous", "", "null"));
+        }
+        if (spec.dependencyDepth() > 0) {
+            source.append(kind.method(
+                    "corpus.dep0.Dep" + (index % dependencyClassCount()), "dependency", "", "null"));
+        }
+
+        return source.append("}\n").toString();
+    }
+
+    private void compileToJar(Map<String, String> sources, List<File> classpath, File jar)
+            throws IOException {
+        Path classesDirectory = Files.createTempDirectory(directory.toPath(), "classes");
+        try {
+            compile(sources, classpath, classesDirectory);
+            jar(classesDirectory, jar);
+        } finally {
+            deleteRecursively(classesDirectory);
+        }
+    }
+
+    private void compile(Map<String, String> sources, List<File> classpath, Path classesDirectory)
+            throws IOException {
+        Path sourcesDirectory = Files.createTempDirectory(directory.toPath(), "sources");
+        try {
+            List<String> arguments = new ArrayList<>(Arrays.asList(
+                    "-nowarn",
+                    "-proc:none",
+                    "-d",
+                    classesDirectory.toString(),
+                    "-classpath",
+                    classpath.stream().map(File::getAbsolutePath).collect(Collectors.joining(File.pathSeparator))));
+            for (Map.Entry<String, String> source : sources.entrySet()) {
+                Path sourceFile = sourcesDirectory.resolve(source.getKey());
+                Files.createDirectories(sourceFile.getParent());
+                Files.write(sourceFile, source.getValue().getBytes(StandardCharsets.UTF_8));
+                arguments.add(sourceFile.toString());
+            }
+
+            int exitCode = compiler.run(null, null, null, arguments.toArray(new String[0]));
+            if (exitCode != 0) {
+                throw new IllegalStateException("Failed to compile API corpus sources in " + sourcesDirectory);
+            }
+        } finally {
+            deleteRecursively(sourcesDirectory);
+        }
+    }
+
+    private static void jar(Path classesDirectory, File jar) throws IOException {
+        jar.getParentFile().mkdirs();
+        List<Path> classFiles;
+        try (Stream<Path> files = Files.walk(classesDirectory)) {
+            classFiles = files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+
+        try (OutputStream outputStream = Files.newOutputStream(jar.toPath());
+                JarOutputStream jarOutputStream = new JarOutputStream(outputStream)) {
+            for (Path classFile : classFiles) {
+                String name = classesDirectory.relativize(classFile).toString().replace(File.separatorChar, '/');
+                JarEntry entry = new JarEntry(name);
+                // Fixed timestamps keep the jars identical between runs
+                entry.setTime(0);
+                jarOutputStream.putNextEntry(entry);
+                jarOutputStream.write(Files.readAllBytes(classFile));
+                jarOutputStream.closeEntry();
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : files.sorted(Collections.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private enum ClassKind {
+        CLASS,
+        INTERFACE,
+        IMMUTABLES;
+
+        static ClassKind choose(Random random, double immutablesFraction) {
+            double choice = random.nextDouble();
+            if (choice < immutablesFraction) {
+                return IMMUTABLES;
+            }
+            return choice < immutablesFraction + 0.1 ? INTERFACE : CLASS;
+        }
+
+        /** The class declaration, where a break makes a class final. */
+        String declaration(boolean broken) {
+            switch (this) {
+                case INTERFACE:
+                    return "public interface";
+                case IMMUTABLES:
+                    return "public abstract class";
+                default:
+                    return broken ? "public final class" : "public class";
+            }
+        }
+
+        String method(String returnType, String name, String parameters, String returnValue) {
+            if (this == CLASS) {
+                return "    public " + returnType + " " + name + "(" + parameters + ") { return " + returnValue
+                        + "; }\n";
+            }
+            return "    public abstract " + returnType + " " + name + "(" + parameters + ");\n";
+        }
+    }
+}
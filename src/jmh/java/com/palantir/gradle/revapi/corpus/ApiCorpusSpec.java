@@ -0,0 +1,88 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi.corpus;
+
+import java.util.Locale;
+
+/** What an {@link ApiCorpusGenerator generated} API corpus should look like. */
+public final class ApiCorpusSpec {
+    private final int classCount;
+    private final int membersPerClass;
+    private final int dependencyDepth;
+    private final double immutablesFraction;
+    private final double breakDensity;
+    private final long seed;
+
+    /**
+     * @param classCount the number of classes in the API
+     * @param membersPerClass the number of methods and constants in each class
+     * @param dependencyDepth how long the chain of dependency jars the API references is
+     * @param immutablesFraction the fraction of API classes that are Immutables classes
+     * @param breakDensity the fraction of API classes that have a break in the new version
+     * @param seed makes the choice of class kinds and breaks reproducible
+     */
+    public ApiCorpusSpec(
+            int classCount,
+            int membersPerClass,
+            int dependencyDepth,
+            double immutablesFraction,
+            double breakDensity,
+            long seed) {
+        this.classCount = classCount;
+        this.membersPerClass = membersPerClass;
+        this.dependencyDepth = dependencyDepth;
+        this.immutablesFraction = immutablesFraction;
+        this.breakDensity = breakDensity;
+        this.seed = seed;
+    }
+
+    public int classCount() {
+        return classCount;
+    }
+
+    public int membersPerClass() {
+        return membersPerClass;
+    }
+
+    public int dependencyDepth() {
+        return dependencyDepth;
+    }
+
+    public double immutablesFraction() {
+        return immutablesFraction;
+    }
+
+    public double breakDensity() {
+        return breakDensity;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    String key() {
+        return String.format(
+                Locale.ROOT,
+                "classes-%d-members-%d-depth-%d-immutables-%s-breaks-%s-seed-%d",
+                classCount,
+                membersPerClass,
+                dependencyDepth,
+                immutablesFraction,
+                breakDensity,
+                seed);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.palantir.gradle.revapi.config.AcceptedBreak;
+import com.palantir.gradle.revapi.config.GradleRevapiConfig;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.jboss.dmr.ModelNode;
+import org.revapi.AnalysisContext;
+import org.revapi.Difference;
+import org.revapi.Element;
+
+/**
+ * Drops the differences that have been accepted in the revapi config. This matches in the same way as
+ * {@code revapi.ignore} does for non-regex entries (the code must be equal, and the old and new elements, if given,
+ * must equal the full human readable string of the element), but looks the accepted breaks up in a hash map rather
+ * than trying every one of them against every difference, and records which accepted breaks actually match anything.
+ */
+public final class AcceptedBreaksTransform extends TimedTransform<Element> {
+    private static final String EXTENSION_ID = "gradle-revapi.accepted.breaks";
+    private static final Pattern[] EVERYTHING = {Pattern.compile(".*")};
+    private static final ObjectMapper OBJECT_MAPPER = GradleRevapiConfig.newJsonObjectMapper();
+
+    private final Map<MatchKey, List<AcceptedBreak>> acceptedBreaksByKey = new HashMap<>();
+
+    static RevapiConfig configFor(Set<AcceptedBreak> acceptedBreaks) {
+        return RevapiConfig.empty()
+                .withExtension(EXTENSION_ID, OBJECT_MAPPER.convertValue(acceptedBreaks, ArrayNode.class));
+    }
+
+    @Override
+    protected void doInitialize(AnalysisContext analysisContext) {
+        this.acceptedBreaksByKey.clear();
+
+        if (!analysisContext.getConfiguration().isDefined()) {
+            return;
+        }
+
+        List<ModelNode> acceptedBreakNodes = analysisContext.getConfiguration().asList();
+        List<AcceptedBreak> acceptedBreaks = new ArrayList<>(acceptedBreakNodes.size());
+        try {
+            for (ModelNode acceptedBreakNode : acceptedBreakNodes) {
+                acceptedBreaks.add(acceptedBreakFrom(acceptedBreakNode));
+            }
+        } catch (IllegalArgumentException | NoSuchElementException e) {
+            throw new RuntimeException("Failed to read accepted breaks from revapi config", e);
+        }
+
+        for (AcceptedBreak acceptedBreak : acceptedBreaks) {
+            MatchKey matchKey = new MatchKey(
+                    acceptedBreak.code(),
+                    acceptedBreak.oldElement().orElse(null),
+                    acceptedBreak.newElement().orElse(null));
+            acceptedBreaksByKey
+                    .computeIfAbsent(matchKey, _matchKey -> new ArrayList<>(1))
+                    .add(acceptedBreak);
+        }
+        transformMetrics().registerAcceptedBreaks(acceptedBreaks);
+    }
+
+    /** Reads an accepted break straight from the config, rather than serializing it back to json to deserialize. */
+    private static AcceptedBreak acceptedBreakFrom(ModelNode acceptedBreakNode) {
+        return AcceptedBreak.builder()
+                .code(acceptedBreakNode.require("code").asString())
+                .oldElement(optionalString(acceptedBreakNode, "old"))
+                .newElement(optionalString(acceptedBreakNode, "new"))
+                .justification(acceptedBreakNode.require("justification").asString())
+                .build();
+    }
+
+    private static Optional<String> optionalString(ModelNode node, String key) {
+        // Don't use ModelNode#get, as that adds the key to the node if it is missing
+        return node.has(key) && node.require(key).isDefined()
+                ? Optional.of(node.require(key).asString())
+                : Optional.empty();
+    }
+
+    @Override
+    public String getExtensionId() {
+        return EXTENSION_ID;
+    }
+
+    @Nonnull
+    @Override
+    public Pattern[] getDifferenceCodePatterns() {
+        return EVERYTHING;
+    }
+
+    @Nullable
+    @Override
+    protected Difference doTransform(
+            @Nullable Element oldElement, @Nullable Element newElement, @Nonnull Difference difference) {
+        return matches(oldElement, newElement, difference) ? null : difference;
+    }
+
+    private boolean matches(@Nullable Element oldElement, @Nullable Element newElement, Difference difference) {
+        if (acceptedBreaksByKey.isEmpty()) {
+            return false;
+        }
+
+        String oldString = oldElement == null ? null : oldElement.getFullHumanReadableString();
+        String newString = newElement == null ? null : newElement.getFullHumanReadableString();
+
+        // Accepted breaks without an old or new element match any element, so try the exact key first and then
+        // every combination of leaving the elements out
+        boolean matched = recordMatches(new MatchKey(difference.code, oldString, newString));
+        if (oldString != null) {
+            matched |= recordMatches(new MatchKey(difference.code, null, newString));
+        }
+        if (newString != null) {
+            matched |= recordMatches(new MatchKey(difference.code, oldString, null));
+        }
+        if (oldString != null && newString != null) {
+            matched |= recordMatches(new MatchKey(difference.code, null, null));
+        }
+        return matched;
+    }
+
+    private boolean recordMatches(MatchKey matchKey) {
+        List<AcceptedBreak> matching = acceptedBreaksByKey.getOrDefault(matchKey, Collections.emptyList());
+        matching.forEach(transformMetrics()::recordMatch);
+        return !matching.isEmpty();
+    }
+
+    private static final class MatchKey {
+        private final String code;
+        @Nullable
+        private final String oldElement;
+        @Nullable
+        private final String newElement;
+
+        MatchKey(String code, @Nullable String oldElement, @Nullable String newElement) {
+            this.code = code;
+            this.oldElement = oldElement;
+            this.newElement = newElement;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof MatchKey)) {
+                return false;
+            }
+            MatchKey matchKey = (MatchKey) other;
+            return code.equals(matchKey.code)
+                    && Objects.equals(oldElement, matchKey.oldElement)
+                    && Objects.equals(newElement, matchKey.newElement);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(code, oldElement, newElement);
+        }
+    }
+}
@@ -53,6 +53,14 @@ public abstract class AnalysisResults {
         }
     }
 
+    final void writeTo(File file) {
+        try {
+            OBJECT_MAPPER.writeValue(file, this);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     static class Builder extends ImmutableAnalysisResults.Builder {}
 
     public static Builder builder() {
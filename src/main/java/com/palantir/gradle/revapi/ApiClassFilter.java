@@ -0,0 +1,139 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import java.io.File;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.immutables.value.Value;
+import org.revapi.Archive;
+
+/**
+ * Decides which classes of the jars being checked revapi analyses, using the class names and annotations already read
+ * into {@link ArchiveMetadata}, so that revapi never models the classes it would otherwise only have filtered out
+ * afterwards.
+ *
+ * <p>Classes under a relocation prefix are dependencies that were shaded into the jar, and are removed entirely.
+ * Classes outside the included packages, in excluded packages or annotated with (or nested in a class annotated
+ * with) an excluded annotation are moved into a separate support archive instead. Revapi then does not check them,
+ * but can still load them to resolve the types used by the classes it does check. Scala classes, which are all
+ * annotated with {@value #SCALA_SIGNATURE}, are always excluded, whatever annotations are configured.
+ */
+final class ApiClassFilter {
+    private static final String CLASS_EXTENSION = ".class";
+    private static final String SCALA_SIGNATURE = "scala.reflect.ScalaSignature";
+
+    private final List<String> relocatedPaths;
+    private final List<String> includedPaths;
+    private final List<String> excludedPaths;
+    private final Set<String> excludedAnnotations;
+
+    ApiClassFilter(
+            List<String> relocationPrefixes,
+            List<String> includePackages,
+            List<String> excludePackages,
+            List<String> excludeAnnotations) {
+        this.relocatedPaths = toPaths(relocationPrefixes);
+        this.includedPaths = toPaths(includePackages);
+        this.excludedPaths = toPaths(excludePackages);
+        this.excludedAnnotations = Stream.concat(Stream.of(SCALA_SIGNATURE), excludeAnnotations.stream())
+                .map(ApiClassFilter::toBinaryName)
+                .collect(Collectors.toSet());
+    }
+
+    @Value.Immutable
+    @ImmutableStyle
+    interface ArchiveViews {
+        /** The classes revapi should check. */
+        Archive api();
+
+        /** The classes revapi should not check, if there are any. */
+        Optional<Archive> excluded();
+    }
+
+    ArchiveViews viewsOf(File archive, ArchiveMetadata metadata) {
+        String name = DirectoryArchive.nameOf(archive);
+        Set<String> excludedClasses = metadata.classNames().stream()
+                .filter(className -> !isRelocated(className) && isExcluded(className, metadata))
+                .collect(Collectors.toSet());
+        boolean hasRelocatedClasses = metadata.classNames().stream().anyMatch(this::isRelocated);
+
+        if (excludedClasses.isEmpty() && !hasRelocatedClasses) {
+            return ImmutableArchiveViews.builder()
+                    .api(DirectoryArchive.of(archive))
+                    .build();
+        }
+
+        return ImmutableArchiveViews.builder()
+                .api(new FilteredArchive(archive, name, entry -> !isRelocated(entry)
+                        && !excludedClasses.contains(classNameOf(entry))))
+                .excluded(excludedClasses.isEmpty()
+                        ? Optional.empty()
+                        : Optional.of(new FilteredArchive(
+                                archive,
+                                name + " (excluded from analysis)",
+                                entry -> excludedClasses.contains(classNameOf(entry)))))
+                .build();
+    }
+
+    private boolean isRelocated(String path) {
+        return relocatedPaths.stream().anyMatch(path::startsWith);
+    }
+
+    private boolean isExcluded(String className, ArchiveMetadata metadata) {
+        if (!includedPaths.isEmpty() && includedPaths.stream().noneMatch(className::startsWith)) {
+            return true;
+        }
+        if (excludedPaths.stream().anyMatch(className::startsWith)) {
+            return true;
+        }
+        if (excludedAnnotations.isEmpty()) {
+            return false;
+        }
+
+        // Nested classes are excluded along with the class they are in, as revapi would do
+        for (int end = className.indexOf('$'); ; end = className.indexOf('$', end + 1)) {
+            String enclosingClass = end == -1 ? className : className.substring(0, end);
+            Set<String> annotations = metadata.annotationsByClass().get(enclosingClass);
+            if (annotations != null && annotations.stream().anyMatch(excludedAnnotations::contains)) {
+                return true;
+            }
+            if (end == -1) {
+                return false;
+            }
+        }
+    }
+
+    /** The binary name of the class in the entry at {@code path}, or {@code null} if it is not a class file. */
+    private static String classNameOf(String path) {
+        return path.endsWith(CLASS_EXTENSION) ? path.substring(0, path.length() - CLASS_EXTENSION.length()) : null;
+    }
+
+    /** Package names to path prefixes, eg {@code com.palantir} to {@code com/palantir/}. */
+    private static List<String> toPaths(List<String> packageNames) {
+        return packageNames.stream()
+                .map(packageName -> toBinaryName(packageName) + "/")
+                .collect(Collectors.toList());
+    }
+
+    private static String toBinaryName(String name) {
+        return name.replace('.', '/');
+    }
+}
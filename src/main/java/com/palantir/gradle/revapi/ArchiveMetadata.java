@@ -0,0 +1,74 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.gradle.revapi;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.immutables.value.Value;
+
+/** What we know about the contents of a jar, independent of where on disk it lives. */
+@Value.Immutable
+@ImmutableStyle
+abstract class ArchiveMetadata {
+    /** Rough per entry and per character overheads of holding this in memory, used to weigh cache entries. */
+    private static final int OBJECT_OVERHEAD_BYTES = 48;
+
+    private static final int BYTES_PER_CHAR = 2;
+
+    /** Class names in references are interned, so each reference just costs a set entry. */
+    private static final int BYTES_PER_REFERENCE = 40;
+
+    abstract String contentHash();
+
+    /** Binary names of the classes in the archive, eg {@code com/palantir/Foo$Bar}. */
+    abstract List<String> classNames();
+
+    /**
+     * For each class that could be read, the classes it exposes in its API.
+     *
+     * @see ClassFileScanner
+     */
+    abstract Map<String, Set<String>> apiReferencesByClass();
+
+    /** For each class that could be read and has any annotations, the annotations on the class itself. */
+    abstract Map<String, Set<String>> annotationsByClass();
+
+    final boolean hasClasses() {
+        return !classNames().isEmpty();
+    }
+
+    @Value.Lazy
+    long estimatedSizeBytes() {
+        long size = OBJECT_OVERHEAD_BYTES + (long) BYTES_PER_CHAR * contentHash().length();
+        for (String className : classNames()) {
+            size += OBJECT_OVERHEAD_BYTES + (long) BYTES_PER_CHAR * className.length();
+        }
+        for (Set<String> apiReferences : apiReferencesByClass().values()) {
+            size += OBJECT_OVERHEAD_BYTES + (long) BYTES_PER_REFERENCE * apiReferences.size();
+        }
+        for (Set<String> annotations : annotationsByClass().values()) {
+            size += OBJECT_OVERHEAD_BYTES + (long) BYTES_PER_REFERENCE * annotations.size();
+        }
+        return size;
+    }
+
+    static final class Builder extends ImmutableArchiveMetadata.Builder {}
+
+    static Builder builder() {
+        return new Builder();
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
+import com.google.common.io.ByteStreams;
+import com.palantir.gradle.revapi.ClassFileScanner.ScannedClass;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Thread safe, size bounded cache of {@link ArchiveMetadata}, shared between all the analyses in a build. Entries are
+ * looked up by path, but are only reused while the file's size and modification time are unchanged, and files with
+ * identical content share the same metadata. The least recently used entries are evicted once the estimated size of
+ * all the entries goes over {@code maxSizeBytes}. Jars that aren't in memory are looked up in the
+ * {@link ArchiveMetadataStore}, if there is one, before being scanned.
+ */
+final class ArchiveMetadataCache {
+    private static final String CLASS_EXTENSION = ".class";
+
+    private final long maxSizeBytes;
+    private final Optional<ArchiveMetadataStore> store;
+    private final Map<String, Entry> entriesByPath = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, SharedMetadata> metadataByContentHash = new HashMap<>();
+    private long sizeBytes;
+
+    ArchiveMetadataCache(long maxSizeBytes) {
+        this(maxSizeBytes, Optional.empty());
+    }
+
+    ArchiveMetadataCache(long maxSizeBytes, Optional<ArchiveMetadataStore> store) {
+        this.maxSizeBytes = maxSizeBytes;
+        this.store = store;
+    }
+
+    public ArchiveMetadata metadataFor(File archive) {
+        String path = archive.getAbsolutePath();
+        long length = archive.length();
+        long lastModified = archive.lastModified();
+
+        synchronized (this) {
+            Entry entry = entriesByPath.get(path);
+            // A directory's size and modification time don't change when the files in it do
+            if (entry != null
+                    && !archive.isDirectory()
+                    && entry.length == length
+                    && entry.lastModified == lastModified) {
+                return entry.metadata;
+            }
+        }
+
+        // Read outside the lock so that different archives can be read concurrently
+        ArchiveMetadata metadata = load(archive, length, lastModified);
+
+        synchronized (this) {
+            remove(entriesByPath.get(path));
+
+            SharedMetadata shared = metadataByContentHash.computeIfAbsent(metadata.contentHash(), _hash -> {
+                sizeBytes += metadata.estimatedSizeBytes();
+                return new SharedMetadata(metadata);
+            });
+            shared.references++;
+
+            entriesByPath.put(path, new Entry(path, length, lastModified, shared.metadata));
+            evictIfNecessary();
+            return shared.metadata;
+        }
+    }
+
+    synchronized long sizeBytes() {
+        return sizeBytes;
+    }
+
+    synchronized int size() {
+        return entriesByPath.size();
+    }
+
+    private void evictIfNecessary() {
+        // Always keep the most recently used entry, even if it is over the budget on its own
+        while (sizeBytes > maxSizeBytes && entriesByPath.size() > 1) {
+            remove(entriesByPath.values().iterator().next());
+        }
+    }
+
+    private void remove(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+
+        entriesByPath.remove(entry.path);
+
+        SharedMetadata shared = metadataByContentHash.get(entry.metadata.contentHash());
+        shared.references--;
+        if (shared.references == 0) {
+            metadataByContentHash.remove(entry.metadata.contentHash());
+            sizeBytes -= entry.metadata.estimatedSizeBytes();
+        }
+    }
+
+    private ArchiveMetadata load(File archive, long length, long lastModified) {
+        if (!store.isPresent() || archive.isDirectory()) {
+            return readMetadata(archive);
+        }
+
+        Optional<ArchiveMetadata> stored = store.get().read(archive, length, lastModified);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+
+        ArchiveMetadata metadata = readMetadata(archive);
+        store.get().write(archive, length, lastModified, metadata);
+        return metadata;
+    }
+
+    static ArchiveMetadata readMetadata(File archive) {
+        List<String> classNames = new ArrayList<>();
+        Map<String, Set<String>> apiReferencesByClass = new HashMap<>();
+        Map<String, Set<String>> annotationsByClass = new HashMap<>();
+
+        try (HashingInputStream hashingInputStream = new HashingInputStream(Hashing.sha256(), open(archive));
+                ZipInputStream zipInputStream = new ZipInputStream(hashingInputStream)) {
+            ZipEntry zipEntry;
+            while ((zipEntry = zipInputStream.getNextEntry()) != null) {
+                String name = zipEntry.getName();
+                if (!zipEntry.isDirectory() && name.endsWith(CLASS_EXTENSION)) {
+                    classNames.add(name.substring(0, name.length() - CLASS_EXTENSION.length()));
+                    scan(ByteStreams.toByteArray(zipInputStream)).ifPresent(scannedClass -> {
+                        apiReferencesByClass.put(scannedClass.name(), scannedClass.apiReferences());
+                        if (!scannedClass.annotations().isEmpty()) {
+                            annotationsByClass.put(scannedClass.name(), scannedClass.annotations());
+                        }
+                    });
+                }
+            }
+
+            // Make sure the hash covers the whole file, including the central directory
+            ByteStreams.exhaust(hashingInputStream);
+
+            Collections.sort(classNames);
+            return ArchiveMetadata.builder()
+                    .contentHash(hashingInputStream.hash().toString())
+                    .classNames(classNames)
+                    .apiReferencesByClass(apiReferencesByClass)
+                    .annotationsByClass(annotationsByClass)
+                    .build();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read archive " + archive, e);
+        }
+    }
+
+    private static InputStream open(File archive) throws IOException {
+        if (archive.isDirectory()) {
+            return new ByteArrayInputStream(DirectoryArchive.zip(archive));
+        }
+        return new BufferedInputStream(new FileInputStream(archive));
+    }
+
+    private static Optional<ScannedClass> scan(byte[] classFile) {
+        try {
+            return Optional.of(ClassFileScanner.scan(classFile));
+        } catch (IllegalArgumentException e) {
+            // Revapi will complain about the class itself if it matters, here we just can't tell what it references
+            return Optional.empty();
+        }
+    }
+
+    private static final class Entry {
+        private final String path;
+        private final long length;
+        private final long lastModified;
+        private final ArchiveMetadata metadata;
+
+        Entry(String path, long length, long lastModified, ArchiveMetadata metadata) {
+            this.path = path;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.metadata = metadata;
+        }
+    }
+
+    private static final class SharedMetadata {
+        private final ArchiveMetadata metadata;
+        private int references;
+
+        SharedMetadata(ArchiveMetadata metadata) {
+            this.metadata = metadata;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import java.io.File;
+import java.util.Optional;
+import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * Build scoped holder of the {@link ArchiveMetadataCache}, so that the jars that appear on the classpath of many
+ * projects (other projects' jars, or common third party libraries) are only read once per build. The metadata is also
+ * kept in an {@link ArchiveMetadataStore} in the root project's build directory, so unchanged jars are not scanned
+ * again in later builds.
+ */
+public abstract class ArchiveMetadataCacheService
+        implements BuildService<ArchiveMetadataCacheService.Parameters> {
+    static final String MAX_SIZE_BYTES_PROPERTY = "revapi.archiveMetadataCache.maxSizeBytes";
+
+    private static final long DEFAULT_MAX_SIZE_BYTES = 64L * 1024 * 1024;
+
+    private final ArchiveMetadataCache archiveMetadataCache = new ArchiveMetadataCache(
+            getParameters().getMaxSizeBytes().get(),
+            Optional.of(new ArchiveMetadataStore(getParameters().getStoreDirectory().get().getAsFile())));
+
+    public interface Parameters extends BuildServiceParameters {
+        Property<Long> getMaxSizeBytes();
+
+        DirectoryProperty getStoreDirectory();
+    }
+
+    final ArchiveMetadata metadataFor(File archive) {
+        return archiveMetadataCache.metadataFor(archive);
+    }
+
+    static Provider<ArchiveMetadataCacheService> register(Project project) {
+        long maxSizeBytes = Optional.ofNullable(project.findProperty(MAX_SIZE_BYTES_PROPERTY))
+                .map(Object::toString)
+                .map(Long::parseLong)
+                .orElse(DEFAULT_MAX_SIZE_BYTES);
+
+        return project.getGradle()
+                .getSharedServices()
+                .registerIfAbsent("revapiArchiveMetadataCache", ArchiveMetadataCacheService.class, spec -> {
+                    spec.getParameters().getMaxSizeBytes().set(maxSizeBytes);
+                    spec.getParameters()
+                            .getStoreDirectory()
+                            .set(new File(project.getRootProject().getBuildDir(), "revapi/archive-metadata"));
+                });
+    }
+}
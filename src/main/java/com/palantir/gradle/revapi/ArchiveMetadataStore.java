@@ -0,0 +1,153 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.google.common.hash.Hashing;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Keeps the {@link ArchiveMetadata} of jars on disk between builds, so that a jar is only scanned again once its size
+ * or modification time changes. Jars in gradle's caches never change, so after the first build almost nothing needs
+ * to be scanned. There is one entry per jar path, which is replaced when the jar changes, and entries that can't be
+ * read are ignored.
+ */
+final class ArchiveMetadataStore {
+    private static final int MAGIC = 0x52564d44;
+    private static final int VERSION = 1;
+
+    private final File directory;
+
+    ArchiveMetadataStore(File directory) {
+        this.directory = directory;
+    }
+
+    Optional<ArchiveMetadata> read(File archive, long length, long lastModified) {
+        File entry = entryFor(archive);
+        if (!entry.isFile()) {
+            return Optional.empty();
+        }
+
+        try (DataInputStream input =
+                new DataInputStream(new BufferedInputStream(new FileInputStream(entry)))) {
+            if (input.readInt() != MAGIC
+                    || input.readInt() != VERSION
+                    || !input.readUTF().equals(archive.getAbsolutePath())
+                    || input.readLong() != length
+                    || input.readLong() != lastModified) {
+                return Optional.empty();
+            }
+
+            String contentHash = input.readUTF();
+            List<String> classNames = readClassNames(input);
+            Map<String, Set<String>> apiReferencesByClass = readClassNamesByClass(input);
+            Map<String, Set<String>> annotationsByClass = readClassNamesByClass(input);
+            return Optional.of(ArchiveMetadata.builder()
+                    .contentHash(contentHash)
+                    .classNames(classNames)
+                    .apiReferencesByClass(apiReferencesByClass)
+                    .annotationsByClass(annotationsByClass)
+                    .build());
+        } catch (IOException | RuntimeException e) {
+            // Corrupt or from an incompatible version, so just scan the archive again
+            return Optional.empty();
+        }
+    }
+
+    void write(File archive, long length, long lastModified, ArchiveMetadata metadata) {
+        File entry = entryFor(archive);
+        try {
+            Files.createDirectories(directory.toPath());
+            Path tempFile = Files.createTempFile(directory.toPath(), entry.getName(), ".tmp");
+            try {
+                try (DataOutputStream output =
+                        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                    output.writeInt(MAGIC);
+                    output.writeInt(VERSION);
+                    output.writeUTF(archive.getAbsolutePath());
+                    output.writeLong(length);
+                    output.writeLong(lastModified);
+                    output.writeUTF(metadata.contentHash());
+                    writeClassNames(output, metadata.classNames());
+                    writeClassNamesByClass(output, metadata.apiReferencesByClass());
+                    writeClassNamesByClass(output, metadata.annotationsByClass());
+                }
+                Utils.moveAtomically(tempFile, entry.toPath());
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            // The store is purely an optimisation, so failing to write it should not fail the build
+        }
+    }
+
+    private File entryFor(File archive) {
+        return new File(
+                directory, Hashing.sha256().hashString(archive.getAbsolutePath(), StandardCharsets.UTF_8) + ".bin");
+    }
+
+    private static void writeClassNames(DataOutputStream output, Collection<String> classNames) throws IOException {
+        output.writeInt(classNames.size());
+        for (String className : classNames) {
+            output.writeUTF(className);
+        }
+    }
+
+    private static void writeClassNamesByClass(DataOutputStream output, Map<String, Set<String>> classNamesByClass)
+            throws IOException {
+        output.writeInt(classNamesByClass.size());
+        for (Map.Entry<String, Set<String>> entry : classNamesByClass.entrySet()) {
+            output.writeUTF(entry.getKey());
+            writeClassNames(output, entry.getValue());
+        }
+    }
+
+    private static List<String> readClassNames(DataInputStream input) throws IOException {
+        int size = input.readInt();
+        List<String> classNames = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            classNames.add(ClassFileScanner.internClassName(input.readUTF()));
+        }
+        return classNames;
+    }
+
+    private static Map<String, Set<String>> readClassNamesByClass(DataInputStream input) throws IOException {
+        int size = input.readInt();
+        Map<String, Set<String>> classNamesByClass = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            String className = ClassFileScanner.internClassName(input.readUTF());
+            classNamesByClass.put(className, new HashSet<>(readClassNames(input)));
+        }
+        return classNamesByClass;
+    }
+}
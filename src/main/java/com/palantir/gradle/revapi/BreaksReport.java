@@ -0,0 +1,76 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.palantir.gradle.revapi.config.Justification;
+import freemarker.cache.ClassTemplateLoader;
+import freemarker.template.Configuration;
+import freemarker.template.DefaultObjectWrapperBuilder;
+import freemarker.template.TemplateException;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Renders analysis results as a junit report and as the text shown when the build fails. This does not depend on
+ * gradle, so that the whole pipeline can also be driven by benchmarks.
+ */
+final class BreaksReport {
+    private BreaksReport() {}
+
+    /**
+     * Writes the junit report for {@code results} to {@code junitOutputFile} and returns the text report, which is
+     * empty if there are no breaks. The task paths are used to tell people how to accept the breaks.
+     */
+    static String write(
+            AnalysisResults results, File junitOutputFile, String acceptBreakTask, String acceptAllBreaksProjectTask)
+            throws IOException, TemplateException {
+        Configuration freeMarkerConfiguration = createFreeMarkerConfiguration();
+        Map<String, Object> templateData = new HashMap<>();
+        templateData.put("results", results);
+        templateData.put("acceptBreakTask", acceptBreakTask);
+        templateData.put("acceptAllBreaksProjectTask", acceptAllBreaksProjectTask);
+        templateData.put("acceptAllBreaksEverywhereTask", RevapiPlugin.ACCEPT_ALL_BREAKS_TASK_NAME);
+        templateData.put("explainWhy", Justification.YOU_MUST_ENTER_JUSTIFICATION);
+
+        try (Writer junitOutputWriter = Files.newBufferedWriter(junitOutputFile.toPath(), StandardCharsets.UTF_8)) {
+            freeMarkerConfiguration
+                    .getTemplate("gradle-revapi-junit-template.ftl")
+                    .process(templateData, junitOutputWriter);
+        }
+
+        StringWriter textOutputWriter = new StringWriter();
+        freeMarkerConfiguration.getTemplate("gradle-revapi-text-template.ftl").process(templateData, textOutputWriter);
+        return textOutputWriter.toString();
+    }
+
+    private static Configuration createFreeMarkerConfiguration() {
+        DefaultObjectWrapperBuilder objectWrapper = new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_23);
+        Configuration freeMarker = new Configuration(Configuration.VERSION_2_3_23);
+
+        freeMarker.setObjectWrapper(objectWrapper.build());
+        freeMarker.setAPIBuiltinEnabled(true);
+        freeMarker.setTemplateLoader(new ClassTemplateLoader(BreaksReport.class, "/META-INF"));
+
+        return freeMarker;
+    }
+}
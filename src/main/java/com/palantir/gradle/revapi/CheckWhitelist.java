@@ -16,7 +16,6 @@
 
 package com.palantir.gradle.revapi;
 
-import java.io.Reader;
 import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -25,10 +24,9 @@ import javax.annotation.Nullable;
 import org.jboss.dmr.ModelNode;
 import org.revapi.AnalysisContext;
 import org.revapi.Difference;
-import org.revapi.DifferenceTransform;
 import org.revapi.java.spi.JavaElement;
 
-public final class CheckWhitelist implements DifferenceTransform<JavaElement> {
+public final class CheckWhitelist extends TimedTransform<JavaElement> {
     public static final String EXTENSION_ID = "gradle-revapi.check.whitelist";
 
     private static final Pattern[] EVERYTHING = {Pattern.compile(".*")};
@@ -37,7 +35,7 @@ public final class CheckWhitelist implements DifferenceTransform<JavaElement> {
     private Set<String> whitelistedChecks;
 
     @Override
-    public void initialize(@Nonnull AnalysisContext analysisContext) {
+    protected void doInitialize(AnalysisContext analysisContext) {
         this.enabled = analysisContext.getConfiguration().isDefined();
 
         if (!this.enabled) {
@@ -62,9 +60,8 @@ public final class CheckWhitelist implements DifferenceTransform<JavaElement> {
 
     @Nullable
     @Override
-    public Difference transform(
+    protected Difference doTransform(
             @Nullable JavaElement _oldElement, @Nullable JavaElement _newElement, @Nonnull Difference difference) {
-
         if (!enabled) {
             return difference;
         }
@@ -75,13 +72,4 @@ public final class CheckWhitelist implements DifferenceTransform<JavaElement> {
 
         return null;
     }
-
-    @Nullable
-    @Override
-    public Reader getJSONSchema() {
-        return null;
-    }
-
-    @Override
-    public void close() {}
 }
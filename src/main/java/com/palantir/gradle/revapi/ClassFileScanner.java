@@ -0,0 +1,366 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Set;
+import java.util.TreeSet;
+import org.immutables.value.Value;
+
+/**
+ * Minimal class file reader that finds which other classes a class exposes in its API: its supertypes, and the types
+ * used in the signatures, throws clauses and annotations of the class and its public and protected members. This is
+ * the set of classes revapi needs to be able to load to analyse the class. Also records the annotations on the class
+ * itself, so classes can be excluded from analysis by annotation without revapi loading them.
+ */
+final class ClassFileScanner {
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PROTECTED = 0x0004;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    // The same few classes (String, Object, collections...) are referenced by almost every class
+    private static final Interner<String> CLASS_NAMES = Interners.newWeakInterner();
+
+    private final DataInputStream input;
+    private final Set<String> references = new TreeSet<>();
+    private final Set<String> annotations = new TreeSet<>();
+    private Object[] constantPool;
+
+    private ClassFileScanner(byte[] classFile) {
+        this.input = new DataInputStream(new ByteArrayInputStream(classFile));
+    }
+
+    @Value.Immutable
+    @ImmutableStyle
+    interface ScannedClass {
+        /** Binary name of the class, eg {@code com/palantir/Foo$Bar}. */
+        String name();
+
+        /** Binary names of the classes exposed in the API of this class. */
+        Set<String> apiReferences();
+
+        /** Binary names of the annotations on the class itself. */
+        Set<String> annotations();
+    }
+
+    static ScannedClass scan(byte[] classFile) {
+        try {
+            return new ClassFileScanner(classFile).scan();
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Failed to read class file", e);
+        }
+    }
+
+    /** Shares class names read from elsewhere, eg an {@link ArchiveMetadataStore}, with those read from class files. */
+    static String internClassName(String className) {
+        return CLASS_NAMES.intern(className);
+    }
+
+    private ScannedClass scan() throws IOException {
+        if (input.readInt() != 0xCAFEBABE) {
+            throw new IllegalArgumentException("Not a class file");
+        }
+        input.readUnsignedShort();
+        input.readUnsignedShort();
+        readConstantPool();
+
+        input.readUnsignedShort();
+        String name = className(input.readUnsignedShort());
+        addClass(input.readUnsignedShort());
+        int interfaces = input.readUnsignedShort();
+        for (int i = 0; i < interfaces; i++) {
+            addClass(input.readUnsignedShort());
+        }
+
+        readMembers();
+        readMembers();
+        readAttributes(true, true);
+
+        references.remove(name);
+        return ImmutableScannedClass.builder()
+                .name(name)
+                .apiReferences(references)
+                .annotations(annotations)
+                .build();
+    }
+
+    private void readConstantPool() throws IOException {
+        int count = input.readUnsignedShort();
+        constantPool = new Object[count];
+        for (int i = 1; i < count; i++) {
+            int tag = input.readUnsignedByte();
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    constantPool[i] = input.readUTF();
+                    break;
+                case CONSTANT_CLASS:
+                    constantPool[i] = input.readUnsignedShort();
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    input.skipBytes(8);
+                    i++;
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    input.skipBytes(4);
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    input.skipBytes(3);
+                    break;
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    input.skipBytes(2);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+            }
+        }
+    }
+
+    private void readMembers() throws IOException {
+        int count = input.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            int accessFlags = input.readUnsignedShort();
+            input.readUnsignedShort();
+            int descriptor = input.readUnsignedShort();
+
+            boolean isApi = (accessFlags & (ACC_PUBLIC | ACC_PROTECTED)) != 0;
+            if (isApi) {
+                addSignature(utf8(descriptor));
+            }
+            readAttributes(isApi, false);
+        }
+    }
+
+    private void readAttributes(boolean isApi, boolean isClass) throws IOException {
+        int count = input.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            String name = utf8(input.readUnsignedShort());
+            int length = input.readInt();
+
+            if (!isApi) {
+                input.skipBytes(length);
+                continue;
+            }
+
+            switch (name) {
+                case "Signature":
+                    addSignature(utf8(input.readUnsignedShort()));
+                    break;
+                case "Exceptions":
+                    int exceptions = input.readUnsignedShort();
+                    for (int j = 0; j < exceptions; j++) {
+                        addClass(input.readUnsignedShort());
+                    }
+                    break;
+                case "RuntimeVisibleAnnotations":
+                case "RuntimeInvisibleAnnotations":
+                    readAnnotations(isClass);
+                    break;
+                case "RuntimeVisibleParameterAnnotations":
+                case "RuntimeInvisibleParameterAnnotations":
+                    int parameters = input.readUnsignedByte();
+                    for (int j = 0; j < parameters; j++) {
+                        readAnnotations(false);
+                    }
+                    break;
+                case "AnnotationDefault":
+                    readElementValue();
+                    break;
+                default:
+                    input.skipBytes(length);
+            }
+        }
+    }
+
+    private void readAnnotations(boolean isClass) throws IOException {
+        int count = input.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            String type = readAnnotation();
+            if (isClass) {
+                // Annotation types are field descriptors, eg Lcom/palantir/Foo;
+                annotations.add(CLASS_NAMES.intern(type.substring(1, type.length() - 1)));
+            }
+        }
+    }
+
+    private String readAnnotation() throws IOException {
+        String type = utf8(input.readUnsignedShort());
+        addSignature(type);
+        int pairs = input.readUnsignedShort();
+        for (int i = 0; i < pairs; i++) {
+            input.readUnsignedShort();
+            readElementValue();
+        }
+        return type;
+    }
+
+    private void readElementValue() throws IOException {
+        char tag = (char) input.readUnsignedByte();
+        switch (tag) {
+            case 'e':
+                addSignature(utf8(input.readUnsignedShort()));
+                input.readUnsignedShort();
+                break;
+            case 'c':
+                addSignature(utf8(input.readUnsignedShort()));
+                break;
+            case '@':
+                readAnnotation();
+                break;
+            case '[':
+                int values = input.readUnsignedShort();
+                for (int i = 0; i < values; i++) {
+                    readElementValue();
+                }
+                break;
+            default:
+                // Primitive or string constant
+                input.readUnsignedShort();
+        }
+    }
+
+    private void addClass(int classIndex) {
+        if (classIndex == 0) {
+            return;
+        }
+
+        String name = className(classIndex);
+        if (name.startsWith("[")) {
+            addSignature(name);
+        } else {
+            addReference(name);
+        }
+    }
+
+    private void addReference(String name) {
+        references.add(CLASS_NAMES.intern(name));
+    }
+
+    private String className(int classIndex) {
+        return utf8((Integer) constantPool[classIndex]);
+    }
+
+    private String utf8(int index) {
+        return (String) constantPool[index];
+    }
+
+    /** Adds all the classes in a field or method descriptor, or a class, field or method generic signature. */
+    private void addSignature(String signature) {
+        int index = 0;
+        if (signature.startsWith("<")) {
+            index = formalTypeParameters(signature, index);
+        }
+
+        while (index < signature.length()) {
+            char current = signature.charAt(index);
+            if (current == '(' || current == ')' || current == '^') {
+                index++;
+            } else {
+                index = type(signature, index);
+            }
+        }
+    }
+
+    private int formalTypeParameters(String signature, int start) {
+        int index = start + 1;
+        while (signature.charAt(index) != '>') {
+            index = signature.indexOf(':', index);
+            while (signature.charAt(index) == ':') {
+                index++;
+                if (signature.charAt(index) != ':') {
+                    index = type(signature, index);
+                }
+            }
+        }
+        return index + 1;
+    }
+
+    private int type(String signature, int start) {
+        switch (signature.charAt(start)) {
+            case 'L':
+                return classType(signature, start);
+            case 'T':
+                return signature.indexOf(';', start) + 1;
+            case '[':
+            case '+':
+            case '-':
+                return type(signature, start + 1);
+            default:
+                // Primitive, void or unbounded wildcard
+                return start + 1;
+        }
+    }
+
+    private int classType(String signature, int start) {
+        StringBuilder name = new StringBuilder();
+        int index = start + 1;
+        while (true) {
+            char current = signature.charAt(index);
+            switch (current) {
+                case ';':
+                    addReference(name.toString());
+                    return index + 1;
+                case '<':
+                    index++;
+                    while (signature.charAt(index) != '>') {
+                        index = type(signature, index);
+                    }
+                    index++;
+                    break;
+                case '.':
+                    addReference(name.toString());
+                    name.append('$');
+                    index++;
+                    break;
+                default:
+                    name.append(current);
+                    index++;
+            }
+        }
+    }
+}
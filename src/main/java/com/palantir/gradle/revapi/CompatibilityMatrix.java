@@ -0,0 +1,156 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.immutables.value.Value;
+
+/**
+ * Which differences the new API has against each of several old versions, so that it is easy to see which old
+ * versions a change is compatible with.
+ */
+@Value.Immutable
+@ImmutableStyle
+@JsonSerialize(as = ImmutableCompatibilityMatrix.class)
+@JsonDeserialize(as = ImmutableCompatibilityMatrix.class)
+abstract class CompatibilityMatrix {
+    private static final ObjectMapper OBJECT_MAPPER =
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    abstract List<Baseline> baselines();
+
+    abstract List<Row> differences();
+
+    /** Builds the matrix from the results against each old version, given most recent first. */
+    static CompatibilityMatrix of(Map<String, BaselineResults> resultsPerVersion) {
+        // Keyed by code, old element and new element, either of which may be null
+        Map<List<String>, List<String>> versionsPerDifference = new LinkedHashMap<>();
+        Builder matrix = builder();
+
+        resultsPerVersion.forEach((version, baselineResults) -> {
+            List<AnalysisResult> results = baselineResults.results().results();
+            matrix.addBaselines(Baseline.builder()
+                    .version(version)
+                    .resultsFile(baselineResults.resultsFile().getName())
+                    .differences(results.size())
+                    .build());
+            results.forEach(result -> versionsPerDifference
+                    .computeIfAbsent(
+                            Arrays.asList(result.code(), result.oldElement(), result.newElement()),
+                            _key -> new ArrayList<>())
+                    .add(version));
+        });
+
+        matrix.addAllDifferences(versionsPerDifference.entrySet().stream()
+                .map(entry -> Row.builder()
+                        .code(entry.getKey().get(0))
+                        .oldElement(entry.getKey().get(1))
+                        .newElement(entry.getKey().get(2))
+                        .versions(entry.getValue())
+                        .build())
+                .sorted(Comparator.comparing(Row::code)
+                        .thenComparing(row -> Optional.ofNullable(row.oldElement()).orElse(""))
+                        .thenComparing(row -> Optional.ofNullable(row.newElement()).orElse("")))
+                .collect(Collectors.toList()));
+
+        return matrix.build();
+    }
+
+    final void write(File file) {
+        file.getParentFile().mkdirs();
+        try {
+            OBJECT_MAPPER.writeValue(file, this);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write revapi compatibility matrix to " + file, e);
+        }
+    }
+
+    static class Builder extends ImmutableCompatibilityMatrix.Builder {}
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    @Value.Immutable
+    @ImmutableStyle
+    interface BaselineResults {
+        File resultsFile();
+
+        AnalysisResults results();
+
+        class Builder extends ImmutableBaselineResults.Builder {}
+
+        static Builder builder() {
+            return new Builder();
+        }
+    }
+
+    @Value.Immutable
+    @ImmutableStyle
+    @JsonSerialize(as = ImmutableBaseline.class)
+    @JsonDeserialize(as = ImmutableBaseline.class)
+    interface Baseline {
+        String version();
+
+        String resultsFile();
+
+        int differences();
+
+        class Builder extends ImmutableBaseline.Builder {}
+
+        static Builder builder() {
+            return new Builder();
+        }
+    }
+
+    /** A difference, and the old versions it is found against. */
+    @Value.Immutable
+    @ImmutableStyle
+    @JsonSerialize(as = ImmutableRow.class)
+    @JsonDeserialize(as = ImmutableRow.class)
+    interface Row {
+        String code();
+
+        @Nullable
+        String oldElement();
+
+        @Nullable
+        String newElement();
+
+        List<String> versions();
+
+        class Builder extends ImmutableRow.Builder {}
+
+        static Builder builder() {
+            return new Builder();
+        }
+    }
+}
@@ -17,50 +17,248 @@
 package com.palantir.gradle.revapi;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
 import com.palantir.gradle.revapi.config.GradleRevapiConfig;
+import com.palantir.gradle.revapi.config.GroupAndName;
+import com.palantir.gradle.revapi.config.ProjectRevapiConfig;
 import java.io.File;
 import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
+/**
+ * Reads and writes the revapi config. By default everything lives in a single {@code revapi.yml}. Once a shards
+ * directory exists next to it (eg {@code .palantir/revapi/}), the accepted breaks of each project are instead kept
+ * in their own {@code <group>/<name>.yml} file, and the main file only holds the version overrides.
+ */
 final class ConfigManager {
     private static final ObjectMapper OBJECT_MAPPER = GradleRevapiConfig.newYamlObjectMapper();
+    private static final String YML_EXTENSION = ".yml";
 
     // This lock is overly broad, but it is very hard to share the lock between tasks without having a root project
     // application managing everything.
-    private static final Object CONFIG_FILE_LOCK = new Object();
+    private static final ReentrantLock CONFIG_FILE_LOCK = new ReentrantLock();
 
     private final File configFile;
+    private final File shardsDirectory;
+    private final Optional<File> parsedConfigCacheDirectory;
+    private final Optional<ParsedConfigCache> parsedConfigCache;
+    private final Supplier<PhaseTimer> phaseTimer;
 
     ConfigManager(File configFile) {
+        this(configFile, defaultShardsDirectory(configFile), Optional.empty());
+    }
+
+    ConfigManager(File configFile, File shardsDirectory) {
+        this(configFile, shardsDirectory, Optional.empty());
+    }
+
+    ConfigManager(File configFile, File shardsDirectory, Optional<File> parsedConfigCacheDirectory) {
+        this(configFile, shardsDirectory, parsedConfigCacheDirectory, PhaseTimer::noOp);
+    }
+
+    private ConfigManager(
+            File configFile,
+            File shardsDirectory,
+            Optional<File> parsedConfigCacheDirectory,
+            Supplier<PhaseTimer> phaseTimer) {
         this.configFile = configFile;
+        this.shardsDirectory = shardsDirectory;
+        this.parsedConfigCacheDirectory = parsedConfigCacheDirectory;
+        this.parsedConfigCache = parsedConfigCacheDirectory.map(ParsedConfigCache::new);
+        this.phaseTimer = phaseTimer;
+    }
+
+    /** Uses the default shards directory and caches parsed config files in {@code parsedConfigCacheDirectory}. */
+    static ConfigManager withParsedConfigCache(File configFile, File parsedConfigCacheDirectory) {
+        return new ConfigManager(
+                configFile, defaultShardsDirectory(configFile), Optional.of(parsedConfigCacheDirectory));
     }
 
+    /** Time spent waiting for other projects to finish with the config file shows up in the trace of this timer. */
+    public ConfigManager withPhaseTimer(Supplier<PhaseTimer> newPhaseTimer) {
+        return new ConfigManager(configFile, shardsDirectory, parsedConfigCacheDirectory, newPhaseTimer);
+    }
+
+    public boolean isSharded() {
+        return shardsDirectory.isDirectory();
+    }
+
+    @SuppressWarnings("try")
     public void modifyConfigFile(UnaryOperator<GradleRevapiConfig> transformer) {
-        synchronized (CONFIG_FILE_LOCK) {
+        try (LockedConfigFile _locked = lockConfigFile()) {
             GradleRevapiConfig oldGradleRevapiConfig = fromFileOrEmptyIfDoesNotExist();
             GradleRevapiConfig newGradleRevapiConfig = transformer.apply(oldGradleRevapiConfig);
 
-            configFile.getParentFile().mkdirs();
-
-            try {
-                OBJECT_MAPPER.writeValue(configFile, newGradleRevapiConfig);
-            } catch (IOException e) {
-                throw new RuntimeException("Failed to modify revapi config file: " + configFile, e);
+            if (isSharded()) {
+                writeSharded(oldGradleRevapiConfig, newGradleRevapiConfig);
+            } else {
+                write(configFile, newGradleRevapiConfig);
             }
         }
     }
 
+    /** Moves all the accepted breaks out of the main config file and into one shard file per project. */
+    @SuppressWarnings("try")
+    public void migrateToShards() {
+        try (LockedConfigFile _locked = lockConfigFile()) {
+            shardsDirectory.mkdirs();
+            modifyConfigFile(UnaryOperator.identity());
+        }
+    }
+
+    /** The whole config, including the accepted breaks of every project. */
+    @SuppressWarnings("try")
     public GradleRevapiConfig fromFileOrEmptyIfDoesNotExist() {
-        if (!configFile.exists()) {
-            return GradleRevapiConfig.empty();
+        try (LockedConfigFile _locked = lockConfigFile()) {
+            GradleRevapiConfig gradleRevapiConfig = readMainConfig();
+
+            if (!isSharded()) {
+                return gradleRevapiConfig;
+            }
+
+            for (Map.Entry<GroupAndName, File> shard : shardFiles().entrySet()) {
+                gradleRevapiConfig = read(shard.getValue(), ProjectRevapiConfig.class)
+                        .orElseGet(ProjectRevapiConfig::empty)
+                        .addTo(shard.getKey(), gradleRevapiConfig);
+            }
+
+            return gradleRevapiConfig;
+        }
+    }
+
+    /**
+     * The version overrides plus only the accepted breaks that are relevant to {@code groupAndName}. When sharded,
+     * this avoids parsing the accepted breaks of every other project.
+     */
+    @SuppressWarnings("try")
+    public GradleRevapiConfig configFor(GroupAndName groupAndName) {
+        try (LockedConfigFile _locked = lockConfigFile()) {
+            GradleRevapiConfig gradleRevapiConfig = readMainConfig();
+
+            if (!isSharded()) {
+                return gradleRevapiConfig;
+            }
+
+            return readShard(groupAndName).addTo(groupAndName, gradleRevapiConfig);
+        }
+    }
+
+    @SuppressWarnings("try")
+    private LockedConfigFile lockConfigFile() {
+        if (!CONFIG_FILE_LOCK.tryLock()) {
+            try (TraceRecorder.Span _span = phaseTimer.get()
+                    .trace("wait for config lock", ImmutableMap.of("configFile", configFile.getName()))) {
+                CONFIG_FILE_LOCK.lock();
+            }
+        }
+        return CONFIG_FILE_LOCK::unlock;
+    }
+
+    private void writeSharded(GradleRevapiConfig oldGradleRevapiConfig, GradleRevapiConfig newGradleRevapiConfig) {
+        GradleRevapiConfig newMainConfig = newGradleRevapiConfig.withoutAcceptedBreaks();
+        if (!newMainConfig.equals(readMainConfig())) {
+            write(configFile, newMainConfig);
+        }
+
+        Set<GroupAndName> groupAndNames = new TreeSet<>(oldGradleRevapiConfig.groupAndNamesWithAcceptedBreaks());
+        groupAndNames.addAll(newGradleRevapiConfig.groupAndNamesWithAcceptedBreaks());
+
+        for (GroupAndName groupAndName : groupAndNames) {
+            ProjectRevapiConfig newShard = newGradleRevapiConfig.projectConfigFor(groupAndName);
+            if (newShard.equals(readShard(groupAndName))) {
+                continue;
+            }
+
+            File shardFile = shardFile(groupAndName);
+            if (newShard.isEmpty()) {
+                shardFile.delete();
+            } else {
+                write(shardFile, newShard);
+            }
+        }
+    }
+
+    private GradleRevapiConfig readMainConfig() {
+        return read(configFile, GradleRevapiConfig.class).orElseGet(GradleRevapiConfig::empty);
+    }
+
+    private ProjectRevapiConfig readShard(GroupAndName groupAndName) {
+        return read(shardFile(groupAndName), ProjectRevapiConfig.class).orElseGet(ProjectRevapiConfig::empty);
+    }
+
+    private File shardFile(GroupAndName groupAndName) {
+        return new File(new File(shardsDirectory, groupAndName.group()), groupAndName.name() + YML_EXTENSION);
+    }
+
+    private Map<GroupAndName, File> shardFiles() {
+        Map<GroupAndName, File> shardFiles = new TreeMap<>();
+        addShardFiles(shardFiles, "", shardsDirectory);
+
+        File[] groupDirectories = shardsDirectory.listFiles(File::isDirectory);
+        if (groupDirectories != null) {
+            for (File groupDirectory : groupDirectories) {
+                addShardFiles(shardFiles, groupDirectory.getName(), groupDirectory);
+            }
+        }
+
+        return shardFiles;
+    }
+
+    private static void addShardFiles(Map<GroupAndName, File> shardFiles, String group, File groupDirectory) {
+        File[] files = groupDirectory.listFiles(file -> file.isFile() && file.getName().endsWith(YML_EXTENSION));
+        if (files == null) {
+            return;
+        }
+
+        for (File file : files) {
+            String name = file.getName().substring(0, file.getName().length() - YML_EXTENSION.length());
+            shardFiles.put(GroupAndName.builder().group(group).name(name).build(), file);
+        }
+    }
+
+    private <T> Optional<T> read(File file, Class<T> type) {
+        if (!file.exists()) {
+            return Optional.empty();
         }
 
         try {
-            synchronized (CONFIG_FILE_LOCK) {
-                return OBJECT_MAPPER.readValue(configFile, GradleRevapiConfig.class);
+            if (parsedConfigCache.isPresent()) {
+                return Optional.of(parsedConfigCache.get().read(file, type, OBJECT_MAPPER));
             }
+
+            return Optional.of(OBJECT_MAPPER.readValue(file, type));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read revapi config file: " + file, e);
+        }
+    }
+
+    private static void write(File file, Object value) {
+        file.getParentFile().mkdirs();
+
+        try {
+            OBJECT_MAPPER.writeValue(file, value);
         } catch (IOException e) {
-            throw new RuntimeException("Failed to read revapi config file: " + configFile, e);
+            throw new RuntimeException("Failed to modify revapi config file: " + file, e);
         }
     }
+
+    private static File defaultShardsDirectory(File configFile) {
+        String configFileName = configFile.getName();
+        String shardsDirectoryName = configFileName.endsWith(YML_EXTENSION)
+                ? configFileName.substring(0, configFileName.length() - YML_EXTENSION.length())
+                : configFileName + ".d";
+        return new File(configFile.getParentFile(), shardsDirectoryName);
+    }
+
+    private interface LockedConfigFile extends AutoCloseable {
+        @Override
+        void close();
+    }
 }
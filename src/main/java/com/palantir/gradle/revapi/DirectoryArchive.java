@@ -0,0 +1,106 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.revapi.Archive;
+import org.revapi.simple.FileArchive;
+
+/**
+ * A directory of compiled classes, presented to revapi as a jar. Revapi reads archives as zip streams, so the contents
+ * of the directory are zipped in memory, uncompressed, every time the archive is opened. This is still much cheaper
+ * than running the jar (or shadow jar) tasks, and class directories are small compared to their dependencies.
+ */
+final class DirectoryArchive implements Archive {
+    private final File directory;
+
+    private DirectoryArchive(File directory) {
+        this.directory = directory;
+    }
+
+    /** A {@link DirectoryArchive} for directories, otherwise a {@link FileArchive}. */
+    static Archive of(File file) {
+        return file.isDirectory() ? new DirectoryArchive(file) : new FileArchive(file);
+    }
+
+    /**
+     * The name revapi knows the archive for {@code file} by. Directories are named by their whole path, as the
+     * classes directories of different projects usually have the same name.
+     */
+    static String nameOf(File file) {
+        return file.isDirectory() ? file.getAbsolutePath().replace(File.separatorChar, '/') : file.getName();
+    }
+
+    @Override
+    public String getName() {
+        return nameOf(directory);
+    }
+
+    @Override
+    public InputStream openStream() throws IOException {
+        return new ByteArrayInputStream(zip(directory));
+    }
+
+    /** The same bytes for the same directory contents, so that they can be hashed to compare directories. */
+    static byte[] zip(File directory) throws IOException {
+        return zip(directory, _path -> true);
+    }
+
+    static byte[] zip(File directory, Predicate<String> includeEntry) throws IOException {
+        Path root = directory.toPath();
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(root)) {
+            files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.setLevel(Deflater.NO_COMPRESSION);
+            for (Path file : files) {
+                String path = root.relativize(file).toString().replace(File.separatorChar, '/');
+                if (!includeEntry.test(path)) {
+                    continue;
+                }
+
+                ZipEntry entry = new ZipEntry(path);
+                entry.setTime(0);
+                zip.putNextEntry(entry);
+                Files.copy(file, zip);
+                zip.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.google.common.base.Throwables;
+import java.io.Reader;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.revapi.AnalysisContext;
+import org.revapi.Archive;
+import org.revapi.Difference;
+import org.revapi.DifferenceSeverity;
+import org.revapi.Element;
+import org.revapi.Report;
+import org.revapi.Reporter;
+
+/**
+ * Stops the analysis as soon as a difference that is still breaking after all the transforms (so is not an accepted
+ * break) is reported, by throwing a {@link BreakFound} with just that break in the same form as the results file.
+ */
+public final class FailFastReporter implements Reporter {
+    public static final String EXTENSION_ID = "gradle-revapi.fail.fast";
+    public static final RevapiConfig CONFIG = RevapiConfig.empty().withExtension(EXTENSION_ID);
+
+    private boolean enabled = false;
+    private AnalysisContext analysisContext;
+
+    @Override
+    public void initialize(@Nonnull AnalysisContext analysisContext) {
+        this.analysisContext = analysisContext;
+        this.enabled = analysisContext.getConfiguration().isDefined();
+    }
+
+    @Override
+    public String getExtensionId() {
+        return EXTENSION_ID;
+    }
+
+    @Override
+    public void report(@Nonnull Report report) {
+        if (!enabled) {
+            return;
+        }
+
+        report.getDifferences().stream()
+                .filter(difference -> difference.classification.containsValue(DifferenceSeverity.BREAKING))
+                .findFirst()
+                .ifPresent(difference -> {
+                    throw new BreakFound(AnalysisResults.builder()
+                            .archiveNames(StreamSupport.stream(
+                                            analysisContext.getNewApi().getArchives().spliterator(), false)
+                                    .map(Archive::getName)
+                                    .collect(Collectors.joining(", ")))
+                            .addResults(resultFor(report, difference))
+                            .build());
+                });
+    }
+
+    private static AnalysisResult resultFor(Report report, Difference difference) {
+        return AnalysisResult.builder()
+                .code(difference.code)
+                .oldElement(elementName(report.getOldElement()))
+                .newElement(elementName(report.getNewElement()))
+                .description(difference.description)
+                .oldArchiveName(archiveName(report.getOldElement()))
+                .newArchiveName(archiveName(report.getNewElement()))
+                .classification(difference.classification)
+                .build();
+    }
+
+    @Nullable
+    private static String elementName(@Nullable Element element) {
+        return element == null ? null : element.toString();
+    }
+
+    @Nullable
+    private static String archiveName(@Nullable Element element) {
+        return element == null || element.getArchive() == null
+                ? null
+                : element.getArchive().getName();
+    }
+
+    /** Revapi may wrap the exceptions thrown by extensions, so look for a {@link BreakFound} anywhere in the chain. */
+    static Optional<AnalysisResults> breakFoundIn(Throwable throwable) {
+        return Throwables.getCausalChain(throwable).stream()
+                .filter(BreakFound.class::isInstance)
+                .map(cause -> ((BreakFound) cause).results)
+                .findFirst();
+    }
+
+    @Nullable
+    @Override
+    public Reader getJSONSchema() {
+        return null;
+    }
+
+    @Override
+    public void close() {}
+
+    static final class BreakFound extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final AnalysisResults results;
+
+        BreakFound(AnalysisResults results) {
+            // The stack trace is never shown, so don't spend time filling it in
+            super("Stopped analysis at the first break, " + results.results().get(0).code(), null, false, false);
+            this.results = results;
+        }
+    }
+}
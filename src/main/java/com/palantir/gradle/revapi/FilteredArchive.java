@@ -0,0 +1,84 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Enumeration;
+import java.util.function.Predicate;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+import org.revapi.Archive;
+
+/**
+ * A view of a jar or classes directory with only some of its entries, see {@link ApiClassFilter}. Jars are read
+ * through their central directory, so the bytes of entries that are left out are never even decompressed.
+ */
+final class FilteredArchive implements Archive {
+    private final File archive;
+    private final String name;
+    private final Predicate<String> includeEntry;
+
+    FilteredArchive(File archive, String name, Predicate<String> includeEntry) {
+        this.archive = archive;
+        this.name = name;
+        this.includeEntry = includeEntry;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public InputStream openStream() throws IOException {
+        if (archive.isDirectory()) {
+            return new ByteArrayInputStream(DirectoryArchive.zip(archive, includeEntry));
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipFile zipFile = new ZipFile(archive);
+                ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.setLevel(Deflater.NO_COMPRESSION);
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (!includeEntry.test(entry.getName())) {
+                    continue;
+                }
+
+                zip.putNextEntry(new ZipEntry(entry.getName()));
+                try (InputStream entryStream = zipFile.getInputStream(entry)) {
+                    ByteStreams.copy(entryStream, zip);
+                }
+                zip.closeEntry();
+            }
+        }
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
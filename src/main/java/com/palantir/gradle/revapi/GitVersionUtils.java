@@ -77,6 +77,8 @@ final class GitVersionUtils {
     }
 
     private static GitResult execute(Project project, String... command) {
+        RevapiMetricsService.recordGitProcess(project);
+
         ByteArrayOutputStream stdout = new ByteArrayOutputStream();
         ByteArrayOutputStream stderr = new ByteArrayOutputStream();
 
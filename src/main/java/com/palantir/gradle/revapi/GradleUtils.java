@@ -24,7 +24,10 @@ final class GradleUtils {
     private GradleUtils() {}
 
     public static <T> Provider<T> memoisedProvider(Project project, Supplier<T> supplier) {
-        Supplier<T> memoised = new MemoizingSupplier<>(supplier);
+        Supplier<T> memoised = new MemoizingSupplier<>(() -> {
+            RevapiMetricsService.recordProviderEvaluation(project);
+            return supplier.get();
+        });
         return project.provider(memoised::get);
     }
 
@@ -16,7 +16,6 @@
 
 package com.palantir.gradle.revapi;
 
-import java.io.Reader;
 import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
@@ -26,12 +25,11 @@ import javax.annotation.Nullable;
 import javax.lang.model.element.Modifier;
 import org.revapi.AnalysisContext;
 import org.revapi.Difference;
-import org.revapi.DifferenceTransform;
 import org.revapi.java.model.MethodElement;
 import org.revapi.java.spi.Code;
 import org.revapi.java.spi.JavaElement;
 
-public final class ImmutablesFilter implements DifferenceTransform<JavaElement> {
+public final class ImmutablesFilter extends TimedTransform<JavaElement> {
     private static final String EXTENSION_ID = "gradle-revapi.immutables";
     public static final RevapiConfig CONFIG = RevapiConfig.empty().withExtension(EXTENSION_ID);
 
@@ -57,17 +55,13 @@ public final class ImmutablesFilter implements DifferenceTransform<JavaElement>
     }
 
     @Override
-    public void initialize(@Nonnull AnalysisContext _analysisContext) {}
+    protected void doInitialize(AnalysisContext _analysisContext) {}
 
     @Nullable
     @Override
-    public Difference transform(
+    protected Difference doTransform(
             @Nullable JavaElement oldElement, @Nullable JavaElement newElement, @Nonnull Difference difference) {
-        if (shouldIgnore(oldElement, newElement, difference)) {
-            return null;
-        }
-
-        return difference;
+        return shouldIgnore(oldElement, newElement, difference) ? null : difference;
     }
 
     private static boolean shouldIgnore(
@@ -121,13 +115,4 @@ public final class ImmutablesFilter implements DifferenceTransform<JavaElement>
                 })
                 .orElse(false);
     }
-
-    @Nullable
-    @Override
-    public Reader getJSONSchema() {
-        return null;
-    }
-
-    @Override
-    public void close() {}
 }
@@ -0,0 +1,112 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Emits a JFR event for each {@link RevapiPhase} so the phases line up with flame graphs of a recording. The event
+ * type is created at runtime with {@code jdk.jfr.EventFactory} through reflection, as {@code jdk.jfr} is not available
+ * on Java 8; there, or if anything else goes wrong creating the event type, no events are emitted. Events are only
+ * actually recorded while a recording is running.
+ */
+final class JfrPhaseEvents {
+    private static final String EVENT_NAME = "com.palantir.gradle.revapi.Phase";
+    private static final Optional<JfrPhaseEvents> INSTANCE = create();
+    private static final PhaseEvent NO_OP = () -> {};
+
+    private final Object eventFactory;
+    private final Method newEvent;
+    private final Method begin;
+    private final Method set;
+    private final Method commit;
+
+    private JfrPhaseEvents(Object eventFactory, Method newEvent, Method begin, Method set, Method commit) {
+        this.eventFactory = eventFactory;
+        this.newEvent = newEvent;
+        this.begin = begin;
+        this.set = set;
+        this.commit = commit;
+    }
+
+    static PhaseEvent noOp() {
+        return NO_OP;
+    }
+
+    /** Starts timing an event for {@code phase}, which is recorded when the returned event is ended. */
+    static PhaseEvent begin(RevapiPhase phase, String projectPath) {
+        return INSTANCE.map(events -> events.beginEvent(phase, projectPath)).orElse(NO_OP);
+    }
+
+    private PhaseEvent beginEvent(RevapiPhase phase, String projectPath) {
+        try {
+            Object event = newEvent.invoke(eventFactory);
+            set.invoke(event, 0, phase.name());
+            set.invoke(event, 1, projectPath);
+            begin.invoke(event);
+            return () -> {
+                try {
+                    commit.invoke(event);
+                } catch (ReflectiveOperationException e) {
+                    // Profiling should never fail the build
+                }
+            };
+        } catch (ReflectiveOperationException e) {
+            return NO_OP;
+        }
+    }
+
+    private static Optional<JfrPhaseEvents> create() {
+        try {
+            Class<?> annotationElement = Class.forName("jdk.jfr.AnnotationElement");
+            Class<?> valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor");
+            Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+            Class<?> eventClass = Class.forName("jdk.jfr.Event");
+
+            Constructor<?> newAnnotation = annotationElement.getConstructor(Class.class, Object.class);
+            Constructor<?> newField = valueDescriptor.getConstructor(Class.class, String.class);
+
+            Object annotations = Arrays.asList(
+                    newAnnotation.newInstance(Class.forName("jdk.jfr.Name"), EVENT_NAME),
+                    newAnnotation.newInstance(Class.forName("jdk.jfr.Label"), "Revapi Phase"),
+                    newAnnotation.newInstance(Class.forName("jdk.jfr.Category"), new String[] {"Revapi"}));
+            Object fields = Arrays.asList(
+                    newField.newInstance(String.class, "phase"), newField.newInstance(String.class, "project"));
+
+            Object eventFactory = eventFactoryClass
+                    .getMethod("create", List.class, List.class)
+                    .invoke(null, annotations, fields);
+
+            return Optional.of(new JfrPhaseEvents(
+                    eventFactory,
+                    eventFactoryClass.getMethod("newEvent"),
+                    eventClass.getMethod("begin"),
+                    eventClass.getMethod("set", int.class, Object.class),
+                    eventClass.getMethod("commit")));
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    interface PhaseEvent {
+        void end();
+    }
+}
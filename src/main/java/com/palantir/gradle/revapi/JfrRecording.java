@@ -0,0 +1,82 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A Java Flight Recorder recording of the current JVM, started and stopped through the {@code DiagnosticCommand}
+ * MBean (the same thing {@code jcmd <pid> JFR.start} uses). Going through the MBean means nothing here needs to be
+ * compiled against {@code jdk.jfr}, which is not available on Java 8. If the JVM can't record, a warning is logged and
+ * no recording is made, as profiling should never fail the build.
+ */
+final class JfrRecording implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(JfrRecording.class);
+    private static final String DIAGNOSTIC_COMMAND = "com.sun.management:type=DiagnosticCommand";
+    private static final String[] SIGNATURE = {String[].class.getName()};
+
+    private final String name;
+    private final File outputFile;
+
+    private JfrRecording(String name, File outputFile) {
+        this.name = name;
+        this.outputFile = outputFile;
+    }
+
+    /**
+     * Starts recording with {@code settings}, which is either the name of one of the JDK's settings files (eg
+     * {@code default} or {@code profile}) or the path to a {@code .jfc} file.
+     */
+    static Optional<JfrRecording> start(String name, String settings, File outputFile) {
+        try {
+            outputFile.getParentFile().mkdirs();
+            invoke("jfrStart", "name=" + quoted(name), "settings=" + quoted(settings));
+            log.info("Started JFR recording {} with settings {}", name, settings);
+            return Optional.of(new JfrRecording(name, outputFile));
+        } catch (JMException | RuntimeException e) {
+            log.warn("Could not start JFR recording {}, continuing without it", name, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            invoke("jfrStop", "name=" + quoted(name), "filename=" + quoted(outputFile.getAbsolutePath()));
+            log.info("Wrote JFR recording of {} to {}", name, outputFile);
+        } catch (JMException | RuntimeException e) {
+            log.warn("Could not stop JFR recording {}", name, e);
+        }
+    }
+
+    private static void invoke(String operation, String... arguments) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.invoke(new ObjectName(DIAGNOSTIC_COMMAND), operation, new Object[] {arguments}, SIGNATURE);
+    }
+
+    /** The arguments are joined with spaces and parsed again, so values containing spaces have to be quoted. */
+    private static String quoted(String value) {
+        return "\"" + value + "\"";
+    }
+}
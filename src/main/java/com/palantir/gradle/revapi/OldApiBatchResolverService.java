@@ -0,0 +1,202 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.palantir.gradle.revapi.ResolveOldApi.OldApi;
+import com.palantir.gradle.revapi.config.GroupAndName;
+import com.palantir.gradle.revapi.config.GroupNameVersion;
+import com.palantir.gradle.revapi.config.Version;
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentSelector;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resolves the old versions of every project in the build in a single dependency graph in the root project, so that
+ * the metadata of the dependencies they share is only fetched once, rather than once per project. Enabled with the
+ * {@value #ENABLED_PROPERTY} gradle property.
+ *
+ * <p>Each project's {@link RevapiOldVersionsTask} adds the old versions it will try first, and then
+ * {@link RevapiResolveOldApisTask} resolves all of them at once in the root project. Resolving them together means
+ * that conflict resolution picks one version of each shared dependency, which need not be the version an old version
+ * would get on its own. So the batch is only used for an old version that was selected at the version asked for, whose
+ * dependencies all resolved, and none of whose dependencies had their version picked by conflict resolution. Any
+ * other old version, or one asked for before the batch was resolved, is left to {@link OldApiConfigurations} to
+ * resolve on its own.
+ */
+public abstract class OldApiBatchResolverService implements BuildService<BuildServiceParameters.None> {
+    static final String ENABLED_PROPERTY = "revapi.batchOldApiResolution";
+
+    private static final Logger log = LoggerFactory.getLogger(OldApiBatchResolverService.class);
+
+    private final Set<GroupNameVersion> requests = new LinkedHashSet<>();
+    private Map<GroupNameVersion, OldApi> resolved = Collections.emptyMap();
+
+    static Optional<Provider<OldApiBatchResolverService>> registerIfEnabled(Project project) {
+        boolean enabled = Optional.ofNullable(project.findProperty(ENABLED_PROPERTY))
+                .map(Object::toString)
+                .map(Boolean::parseBoolean)
+                .orElse(false);
+
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        return Optional.of(project.getGradle()
+                .getSharedServices()
+                .registerIfAbsent("revapiOldApiBatchResolver", OldApiBatchResolverService.class, _spec -> {}));
+    }
+
+    /** Adds old versions to resolve in the batch. */
+    final synchronized void addRequests(List<GroupNameVersion> oldVersions) {
+        requests.addAll(oldVersions);
+    }
+
+    /** Resolves every old version added so far in the root project, which must be the project of the calling task. */
+    final synchronized void resolveBatch(Project rootProject) {
+        try {
+            resolved = resolve(rootProject, requests);
+            log.info("Resolved {} of {} old versions in a single batch", resolved.size(), requests.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to resolve old versions in a batch, resolving them one at a time instead", e);
+            resolved = Collections.emptyMap();
+        }
+    }
+
+    /** The old API at the given version, if it was resolved in the batch. */
+    final synchronized Optional<OldApi> oldApiFor(GroupNameVersion groupNameVersion) {
+        return Optional.ofNullable(resolved.get(groupNameVersion));
+    }
+
+    private static Map<GroupNameVersion, OldApi> resolve(Project rootProject, Set<GroupNameVersion> oldVersions) {
+        if (oldVersions.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Configuration configuration = rootProject
+                .getConfigurations()
+                .detachedConfiguration(oldVersions.stream()
+                        .map(oldVersion -> rootProject.getDependencies().create(oldVersion.asString()))
+                        .toArray(Dependency[]::new));
+
+        Map<ComponentIdentifier, Set<File>> filesPerComponent = new HashMap<>();
+        for (ResolvedArtifactResult artifact : configuration
+                .getIncoming()
+                .artifactView(view -> view.lenient(true))
+                .getArtifacts()) {
+            filesPerComponent
+                    .computeIfAbsent(artifact.getId().getComponentIdentifier(), _id -> new LinkedHashSet<>())
+                    .add(artifact.getFile());
+        }
+
+        Map<GroupNameVersion, OldApi> oldApis = new HashMap<>();
+        for (DependencyResult dependency :
+                configuration.getIncoming().getResolutionResult().getRoot().getDependencies()) {
+            if (!(dependency instanceof ResolvedDependencyResult)
+                    || !(dependency.getRequested() instanceof ModuleComponentSelector)) {
+                continue;
+            }
+
+            ModuleComponentSelector requested = (ModuleComponentSelector) dependency.getRequested();
+            ResolvedComponentResult selected = ((ResolvedDependencyResult) dependency).getSelected();
+            if (!(selected.getId() instanceof ModuleComponentIdentifier)
+                    || !requested.getVersion().equals(((ModuleComponentIdentifier) selected.getId()).getVersion())) {
+                continue;
+            }
+
+            closure(selected).ifPresent(components -> {
+                Set<File> jars = filesPerComponent.getOrDefault(selected.getId(), Collections.emptySet());
+                Set<File> dependencyJars = components.stream()
+                        .filter(component -> !component.equals(selected.getId()))
+                        .flatMap(component ->
+                                filesPerComponent.getOrDefault(component, Collections.emptySet()).stream())
+                        .filter(file -> !jars.contains(file))
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+
+                GroupNameVersion oldVersion = GroupNameVersion.builder()
+                        .groupAndName(GroupAndName.builder()
+                                .group(requested.getGroup())
+                                .name(requested.getModule())
+                                .build())
+                        .version(Version.fromString(requested.getVersion()))
+                        .build();
+                oldApis.put(
+                        oldVersion,
+                        OldApi.builder()
+                                .version(oldVersion.version())
+                                .jars(jars)
+                                .dependencyJars(dependencyJars)
+                                .build());
+            });
+        }
+        return oldApis;
+    }
+
+    /**
+     * Every component reachable from {@code start}, or empty if any of its dependencies failed to resolve or had its
+     * version picked by conflict resolution, as then resolving {@code start} on its own could give different jars.
+     * {@code start} itself was already checked to be at the version that was asked for.
+     */
+    private static Optional<Set<ComponentIdentifier>> closure(ResolvedComponentResult start) {
+        Set<ComponentIdentifier> seen = new HashSet<>();
+        Deque<ResolvedComponentResult> toVisit = new ArrayDeque<>();
+        toVisit.add(start);
+        while (!toVisit.isEmpty()) {
+            ResolvedComponentResult component = toVisit.remove();
+            if (!seen.add(component.getId())) {
+                continue;
+            }
+            if (!component.getId().equals(start.getId()) && component.getSelectionReason().isConflictResolution()) {
+                return Optional.empty();
+            }
+
+            for (DependencyResult dependency : component.getDependencies()) {
+                if (dependency.isConstraint()) {
+                    continue;
+                }
+                if (!(dependency instanceof ResolvedDependencyResult)) {
+                    return Optional.empty();
+                }
+                toVisit.add(((ResolvedDependencyResult) dependency).getSelected());
+            }
+        }
+        return Optional.of(seen);
+    }
+}
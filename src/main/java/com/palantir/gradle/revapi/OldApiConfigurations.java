@@ -25,29 +25,56 @@ import java.util.stream.Collectors;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentSelector;
 import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
 import org.gradle.api.artifacts.result.UnresolvedDependencyResult;
 
 final class OldApiConfigurations {
     private OldApiConfigurations() {}
 
+    /**
+     * When the version of the local java project is higher than the old published dependency and has the same
+     * group and name, gradle silently replaces the published external dependency with the project dependency
+     * (see https://discuss.gradle.org/t/fetching-the-previous-version-of-a-projects-jar/8571). This happens on
+     * tag builds, and would cause the publish to fail. A detached configuration has its own identity rather than the
+     * project's, so the old version does not conflict with the project. In case gradle still picks something other
+     * than the published module, eg a project or included build, we fail rather than silently comparing the project
+     * against itself. Nothing about the project itself is changed, so old APIs can be resolved for many projects at
+     * the same time.
+     */
     static Set<File> resolveOldConfiguration(Project project, GroupNameVersion groupNameVersion, boolean transitive)
             throws CouldNotResolveOldApiException {
 
         Dependency oldApiDependency = project.getDependencies().create(groupNameVersion.asString());
+        Configuration oldApiConfiguration = project.getConfigurations().detachedConfiguration(oldApiDependency);
+        oldApiConfiguration.setTransitive(transitive);
 
-        String transitivityString = transitive ? "_transitive" : "";
-        String configurationName = "revapiOldApi_" + groupNameVersion.version().asString() + transitivityString;
+        Set<File> oldApiFiles = resolveConfigurationUnlessMissingJars(groupNameVersion.version(), oldApiConfiguration);
+        checkOldModuleIsPublished(groupNameVersion, oldApiConfiguration);
+        return oldApiFiles;
+    }
 
-        Configuration oldApiConfiguration = project.getConfigurations().create(configurationName, conf -> {
-            conf.getDependencies().add(oldApiDependency);
-            conf.setCanBeConsumed(false);
-            conf.setVisible(false);
-        });
-        oldApiConfiguration.setTransitive(transitive);
+    private static void checkOldModuleIsPublished(GroupNameVersion groupNameVersion, Configuration configuration) {
+        configuration.getIncoming().getResolutionResult().getAllDependencies().stream()
+                .filter(dependencyResult -> dependencyResult instanceof ResolvedDependencyResult)
+                .map(dependencyResult -> (ResolvedDependencyResult) dependencyResult)
+                .filter(dependencyResult -> dependencyResult.getRequested() instanceof ModuleComponentSelector
+                        && isOldModule((ModuleComponentSelector) dependencyResult.getRequested(), groupNameVersion))
+                .map(dependencyResult -> dependencyResult.getSelected().getId())
+                .filter(selected -> !(selected instanceof ModuleComponentIdentifier))
+                .findAny()
+                .ifPresent(selected -> {
+                    throw new RuntimeException("Expected to compare against the published "
+                            + groupNameVersion.asString() + ", but gradle resolved " + selected.getDisplayName()
+                            + " instead");
+                });
+    }
 
-        return PreviousVersionResolutionHelpers.withRenamedGroupForCurrentThread(
-                project, () -> resolveConfigurationUnlessMissingJars(groupNameVersion.version(), oldApiConfiguration));
+    private static boolean isOldModule(ModuleComponentSelector requested, GroupNameVersion groupNameVersion) {
+        return requested.getGroup().equals(groupNameVersion.groupAndName().group())
+                && requested.getModule().equals(groupNameVersion.groupAndName().name());
     }
 
     private static Set<File> resolveConfigurationUnlessMissingJars(Version oldVersion, Configuration configuration)
@@ -70,6 +97,8 @@ final class OldApiConfigurations {
     }
 
     static final class CouldNotResolveOldApiException extends Exception {
+        private static final long serialVersionUID = 1L;
+
         private final Version version;
         private final List<Throwable> resolutionFailures;
 
@@ -0,0 +1,91 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+import com.palantir.gradle.revapi.config.GradleRevapiConfig;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Caches the result of parsing a yml config file as json in the root project's build directory, keyed by the hash of
+ * the yml contents. Parsing yml is much slower than parsing json, and the config files are read by every project
+ * during configuration, so this avoids repeatedly parsing the same large file. If the source file changes its hash
+ * changes and the cache is regenerated, replacing the entry for the old contents so only one entry is kept per file;
+ * corrupt or unreadable cache entries are ignored.
+ */
+final class ParsedConfigCache {
+    private static final ObjectMapper JSON_OBJECT_MAPPER = GradleRevapiConfig.newJsonObjectMapper();
+
+    private final File cacheDirectory;
+
+    ParsedConfigCache(File cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    public <T> T read(File ymlFile, Class<T> type, ObjectMapper ymlObjectMapper) throws IOException {
+        byte[] ymlBytes = Files.readAllBytes(ymlFile.toPath());
+        String prefix = type.getSimpleName() + "-"
+                + Hashing.sha256().hashString(ymlFile.getAbsolutePath(), StandardCharsets.UTF_8) + "-";
+        File cacheFile = new File(cacheDirectory, prefix + Hashing.sha256().hashBytes(ymlBytes) + ".json");
+
+        if (cacheFile.exists()) {
+            try {
+                return JSON_OBJECT_MAPPER.readValue(cacheFile, type);
+            } catch (IOException e) {
+                // Fall through and regenerate the cache entry from the yml file
+            }
+        }
+
+        T value = ymlObjectMapper.readValue(ymlBytes, type);
+        writeAtomically(cacheFile, value);
+        deleteStaleEntries(prefix, cacheFile);
+        return value;
+    }
+
+    private void deleteStaleEntries(String prefix, File currentEntry) {
+        File[] staleEntries = cacheDirectory.listFiles((_dir, name) ->
+                name.startsWith(prefix) && name.endsWith(".json") && !name.equals(currentEntry.getName()));
+        if (staleEntries == null) {
+            return;
+        }
+
+        for (File staleEntry : staleEntries) {
+            // Another build may be deleting the same entry, and a leftover entry only wastes space
+            staleEntry.delete();
+        }
+    }
+
+    private static void writeAtomically(File cacheFile, Object value) {
+        try {
+            cacheFile.getParentFile().mkdirs();
+            Path tempFile = Files.createTempFile(cacheFile.getParentFile().toPath(), cacheFile.getName(), ".tmp");
+            try {
+                JSON_OBJECT_MAPPER.writeValue(tempFile.toFile(), value);
+                Utils.moveAtomically(tempFile, cacheFile.toPath());
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            // The cache is purely an optimisation, so failing to write it should not fail the build
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.google.common.collect.ImmutableMap;
+import com.palantir.gradle.revapi.RevapiMetricsService.PhaseMetrics;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import org.revapi.AnalysisContext;
+
+/**
+ * Records the wall time, CPU time and bytes allocated by the current thread for each {@link RevapiPhase} of a
+ * project. Phases of the same project can be nested, eg our transforms run inside revapi's analysis, in which case the
+ * time of the inner phase is only counted towards the inner phase. Spans of another project's timer that happen to
+ * run inside a span of this one, eg memoised providers evaluated while configuring, are not subtracted from it. If
+ * tracing is enabled, each phase (apart from the per difference {@link RevapiPhase#TRANSFORMS}) and any extra
+ * {@link #trace} spans are also passed on to a {@link TraceRecorder}. The same phases are also emitted as
+ * {@link JfrPhaseEvents JFR events}. Reading the CPU time and allocations of a thread costs far more than a single
+ * transform, so only the wall time of {@link RevapiPhase#TRANSFORMS} is recorded, and its CPU time and allocations
+ * are counted towards the enclosing phase.
+ */
+final class PhaseTimer {
+    static final String ANALYSIS_CONTEXT_KEY = "gradle-revapi.phaseTimer";
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final PhaseTimer NO_OP = new PhaseTimer();
+
+    private final Map<RevapiPhase, Totals> totals = new EnumMap<>(RevapiPhase.class);
+    private final ThreadLocal<Span> currentSpan = new ThreadLocal<>();
+    private final String projectPath;
+    private final Optional<TraceRecorder> traceRecorder;
+
+    PhaseTimer() {
+        this(":", Optional.empty());
+    }
+
+    PhaseTimer(String projectPath, Optional<TraceRecorder> traceRecorder) {
+        this.projectPath = projectPath;
+        this.traceRecorder = traceRecorder;
+        for (RevapiPhase phase : RevapiPhase.values()) {
+            totals.put(phase, new Totals());
+        }
+    }
+
+    public Span start(RevapiPhase phase) {
+        Span span = new Span(this, phase, currentSpan.get());
+        currentSpan.set(span);
+        return span;
+    }
+
+    /** A span that only shows up in the trace, for work that is interesting to see but isn't a phase of its own. */
+    public TraceRecorder.Span trace(String name, Map<String, String> args) {
+        return traceRecorder
+                .map(recorder -> recorder.span(name, projectPath, args))
+                .orElseGet(TraceRecorder.Span::noOp);
+    }
+
+    public List<PhaseMetrics> phaseMetrics() {
+        return Arrays.stream(RevapiPhase.values())
+                .filter(phase -> totals.get(phase).count.sum() > 0)
+                .map(phase -> totals.get(phase).toPhaseMetrics(phase))
+                .collect(Collectors.toList());
+    }
+
+    /** A timer that is not connected to any project, and whose results are never written anywhere. */
+    static PhaseTimer noOp() {
+        return NO_OP;
+    }
+
+    /** The timer passed in to revapi's analysis, or one that records nothing if there isn't one. */
+    static PhaseTimer fromContext(AnalysisContext analysisContext) {
+        return Optional.ofNullable(analysisContext.getData(ANALYSIS_CONTEXT_KEY))
+                .filter(PhaseTimer.class::isInstance)
+                .map(PhaseTimer.class::cast)
+                .orElse(NO_OP);
+    }
+
+    private static long cpuNanos() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : 0;
+    }
+
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return 0;
+    }
+
+    static final class Span implements AutoCloseable {
+        private final PhaseTimer timer;
+        private final RevapiPhase phase;
+        private final Span parent;
+        private final TraceRecorder.Span traceSpan;
+        private final JfrPhaseEvents.PhaseEvent jfrEvent;
+        private final boolean perDifference;
+        private final long startWallNanos;
+        private final long startCpuNanos;
+        private final long startAllocatedBytes;
+        private long childWallNanos;
+        private long childCpuNanos;
+        private long childAllocatedBytes;
+        private long wallNanos;
+
+        private Span(PhaseTimer timer, RevapiPhase phase, Span parent) {
+            this.timer = timer;
+            this.phase = phase;
+            this.parent = parent;
+            this.perDifference = phase == RevapiPhase.TRANSFORMS;
+            this.startWallNanos = System.nanoTime();
+            this.startCpuNanos = perDifference ? 0 : cpuNanos();
+            this.startAllocatedBytes = perDifference ? 0 : allocatedBytes();
+            this.traceSpan = perDifference ? TraceRecorder.Span.noOp() : timer.trace(phase.name(), ImmutableMap.of());
+            this.jfrEvent = perDifference ? JfrPhaseEvents.noOp() : JfrPhaseEvents.begin(phase, timer.projectPath);
+        }
+
+        /** The wall time between starting and closing this span, including any nested spans. */
+        long wallNanos() {
+            return wallNanos;
+        }
+
+        @Override
+        public void close() {
+            wallNanos = System.nanoTime() - startWallNanos;
+            long cpuNanos = perDifference ? 0 : cpuNanos() - startCpuNanos;
+            long allocatedBytes = perDifference ? 0 : allocatedBytes() - startAllocatedBytes;
+
+            Totals phaseTotals = timer.totals.get(phase);
+            phaseTotals.count.increment();
+            phaseTotals.wallNanos.add(wallNanos - childWallNanos);
+            phaseTotals.cpuNanos.add(cpuNanos - childCpuNanos);
+            phaseTotals.allocatedBytes.add(allocatedBytes - childAllocatedBytes);
+
+            if (parent != null) {
+                parent.childWallNanos += wallNanos;
+                parent.childCpuNanos += cpuNanos;
+                parent.childAllocatedBytes += allocatedBytes;
+            }
+            timer.currentSpan.set(parent);
+            traceSpan.close();
+            jfrEvent.end();
+        }
+    }
+
+    private static final class Totals {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder wallNanos = new LongAdder();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        PhaseMetrics toPhaseMetrics(RevapiPhase phase) {
+            return PhaseMetrics.builder()
+                    .phase(phase)
+                    .count(count.sum())
+                    .wallNanos(wallNanos.sum())
+                    .cpuNanos(cpuNanos.sum())
+                    .allocatedBytes(allocatedBytes.sum())
+                    .build();
+        }
+    }
+}
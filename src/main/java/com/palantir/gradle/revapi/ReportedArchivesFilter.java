@@ -0,0 +1,90 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import java.io.File;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.jboss.dmr.ModelNode;
+import org.revapi.AnalysisContext;
+import org.revapi.Archive;
+import org.revapi.Element;
+import org.revapi.ElementFilter;
+
+/**
+ * Only reports differences in the elements of the archives whose names are configured, which is looked up by exact
+ * name in a set. Revapi's own archive filter treats each name as a regex, so unescaped dots in jar names matched any
+ * character, and every element's archive name was matched against every pattern.
+ */
+public final class ReportedArchivesFilter implements ElementFilter {
+    public static final String EXTENSION_ID = "gradle-revapi.archives";
+
+    private Set<String> archiveNames = Collections.emptySet();
+    private boolean enabled = false;
+
+    static RevapiConfig configFor(Set<File> archivesToReport) {
+        ArrayNode archiveNames = RevapiConfig.createArrayNode();
+        archivesToReport.stream().map(DirectoryArchive::nameOf).sorted().forEach(archiveNames::add);
+        return RevapiConfig.empty().withExtension(EXTENSION_ID, archiveNames);
+    }
+
+    @Override
+    public String getExtensionId() {
+        return EXTENSION_ID;
+    }
+
+    @Override
+    public void initialize(@Nonnull AnalysisContext analysisContext) {
+        this.enabled = analysisContext.getConfiguration().isDefined();
+        if (!enabled) {
+            return;
+        }
+
+        this.archiveNames = analysisContext.getConfiguration().asList().stream()
+                .map(ModelNode::asString)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public boolean applies(@Nullable Element element) {
+        if (!enabled || element == null) {
+            return true;
+        }
+
+        Archive archive = element.getArchive();
+        return archive == null || archiveNames.contains(archive.getName());
+    }
+
+    @Override
+    public boolean shouldDescendInto(@Nullable Object _element) {
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public Reader getJSONSchema() {
+        return null;
+    }
+
+    @Override
+    public void close() {}
+}
@@ -16,12 +16,15 @@
 
 package com.palantir.gradle.revapi;
 
+import com.google.common.collect.ImmutableMap;
 import com.palantir.gradle.revapi.OldApiConfigurations.CouldNotResolveOldApiException;
 import com.palantir.gradle.revapi.config.GradleRevapiConfig;
 import com.palantir.gradle.revapi.config.GroupAndName;
 import com.palantir.gradle.revapi.config.GroupNameVersion;
 import com.palantir.gradle.revapi.config.Version;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -40,34 +43,83 @@ final class ResolveOldApi {
 
     private ResolveOldApi() {}
 
-    public static Provider<Optional<OldApi>> oldApiProvider(
+    /**
+     * The old versions to try, most recent first, after applying any version overrides. Memoised as listing the git
+     * tags that the old versions default to is expensive, and both the batch resolver and the old APIs need them.
+     */
+    public static Provider<List<GroupNameVersion>> oldVersionsProvider(
             Project project, RevapiExtension extension, ConfigManager configManager) {
 
-        return GradleUtils.memoisedProvider(
-                project,
-                () -> resolveOldApiAcrossAllOldVersions(
-                        project, extension, configManager.fromFileOrEmptyIfDoesNotExist()));
+        return GradleUtils.memoisedProvider(project, () -> {
+            GroupAndName oldGroupAndName = extension.oldGroupAndName().get();
+            GradleRevapiConfig config = configManager.configFor(oldGroupAndName);
+            return extension.getOldVersions().get().stream()
+                    .map(oldVersionString -> possiblyReplacedOldVersionFor(
+                            config, oldGroupAndName.withVersion(Version.fromString(oldVersionString))))
+                    .distinct()
+                    .collect(Collectors.toList());
+        });
     }
 
-    private static Optional<OldApi> resolveOldApiAcrossAllOldVersions(
-            Project project, RevapiExtension extension, GradleRevapiConfig config) {
+    /**
+     * Up to {@link RevapiExtension#getBaselines()} old APIs, most recent first, or none if nothing has been published
+     * yet.
+     */
+    @SuppressWarnings("try")
+    public static Provider<List<OldApi>> oldApisProvider(
+            Project project,
+            RevapiExtension extension,
+            Provider<List<GroupNameVersion>> oldVersions,
+            Optional<Provider<OldApiBatchResolverService>> batchResolver) {
+
+        return GradleUtils.memoisedProvider(project, () -> {
+            // Looked up first so the time spent walking git tags is not counted as resolving the old api
+            List<GroupNameVersion> oldGroupNameVersions = oldVersions.get();
+
+            try (PhaseTimer.Span _span = RevapiMetricsService.start(project, RevapiPhase.RESOLVE_OLD_API)) {
+                return resolveOldApisAcrossAllOldVersions(
+                        project, extension, oldGroupNameVersions, batchResolver.map(Provider::get));
+            }
+        });
+    }
 
-        List<String> oldVersionStrings = extension.getOldVersions().get();
+    @SuppressWarnings("try")
+    private static List<OldApi> resolveOldApisAcrossAllOldVersions(
+            Project project,
+            RevapiExtension extension,
+            List<GroupNameVersion> oldGroupNameVersions,
+            Optional<OldApiBatchResolverService> batchResolver) {
+
+        int baselines = extension.getBaselines().get();
+        if (baselines < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "revapi.baselines must be at least 1 in %s, but was %d", project.getDisplayName(), baselines));
+        }
 
-        if (oldVersionStrings.isEmpty()) {
-            return Optional.empty();
+        if (oldGroupNameVersions.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        GroupAndName oldGroupAndName = extension.oldGroupAndName().get();
+        PhaseTimer phaseTimer = RevapiMetricsService.projectTimer(project);
 
+        List<OldApi> oldApis = new ArrayList<>();
         Map<Version, CouldNotResolveOldApiException> exceptionsPerVersion = new LinkedHashMap<>();
-        for (String oldVersionString : oldVersionStrings) {
-            GroupNameVersion oldGroupNameVersion = possiblyReplacedOldVersionFor(
-                    config, oldGroupAndName.withVersion(Version.fromString(oldVersionString)));
+        for (GroupNameVersion oldGroupNameVersion : oldGroupNameVersions) {
+            if (oldApis.size() >= baselines) {
+                break;
+            }
+
+            Optional<OldApi> batchResolved =
+                    batchResolver.flatMap(resolver -> resolver.oldApiFor(oldGroupNameVersion));
+            if (batchResolved.isPresent()) {
+                oldApis.add(batchResolved.get());
+                continue;
+            }
 
-            try {
+            try (TraceRecorder.Span _span = phaseTimer.trace(
+                    "resolve old version", ImmutableMap.of("version", oldGroupNameVersion.asString()))) {
                 OldApi oldApi = resolveOldApiWithVersion(project, oldGroupNameVersion);
-                if (!exceptionsPerVersion.isEmpty()) {
+                if (oldApis.isEmpty() && !exceptionsPerVersion.isEmpty()) {
                     log.warn(
                             "{} has successfully resolved. At first we tried to use versions {}, however they all "
                                     + "failed to resolve with these errors:\n\n{}",
@@ -77,18 +129,28 @@ final class ResolveOldApi {
                                     .collect(Collectors.toList()),
                             ExceptionMessages.joined(exceptionsPerVersion.values()));
                 }
-                return Optional.of(oldApi);
+                oldApis.add(oldApi);
             } catch (CouldNotResolveOldApiException e) {
-                exceptionsPerVersion.put(oldGroupNameVersion.version(), e);
+                if (oldApis.isEmpty()) {
+                    exceptionsPerVersion.put(oldGroupNameVersion.version(), e);
+                } else {
+                    log.warn("Not comparing against {} as it failed to resolve", oldGroupNameVersion.asString(), e);
+                }
             }
         }
 
-        try {
-            OldApiConfigurations.resolveOldConfiguration(
-                    project, oldGroupAndName.withVersion(Version.fromString("+")), false);
+        if (!oldApis.isEmpty()) {
+            return oldApis;
+        }
+
+        GroupNameVersion anyOldVersion =
+                oldGroupNameVersions.get(0).groupAndName().withVersion(Version.fromString("+"));
+        try (TraceRecorder.Span _span = phaseTimer.trace(
+                "resolve old version", ImmutableMap.of("version", anyOldVersion.asString()))) {
+            OldApiConfigurations.resolveOldConfiguration(project, anyOldVersion, false);
         } catch (CouldNotResolveOldApiException e) {
             // Since there are no published versions *at all*, skip running revapi
-            return Optional.empty();
+            return Collections.emptyList();
         }
 
         throw new IllegalStateException(
@@ -104,7 +166,11 @@ final class ResolveOldApi {
         Set<File> oldJustDeps = new HashSet<>(oldWithDeps);
         oldJustDeps.removeAll(oldOnlyJar);
 
-        return OldApi.builder().jars(oldOnlyJar).dependencyJars(oldJustDeps).build();
+        return OldApi.builder()
+                .version(groupNameVersion.version())
+                .jars(oldOnlyJar)
+                .dependencyJars(oldJustDeps)
+                .build();
     }
 
     private static GroupNameVersion possiblyReplacedOldVersionFor(
@@ -121,6 +187,8 @@ final class ResolveOldApi {
 
     @Value.Immutable
     interface OldApi {
+        Version version();
+
         Set<File> jars();
 
         Set<File> dependencyJars();
@@ -0,0 +1,207 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.google.common.io.CountingOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Merges the results files of many projects into one combined results file and a summary. Results files are read and
+ * written a token at a time, and the summary of each project is written as soon as it has been read, so memory use
+ * depends only on the number of distinct difference codes and not on the number of projects or differences.
+ *
+ * <p>The summary lists the number of differences of each project by code, the byte offset and length of each project's
+ * entry in the combined results file so it can be read without parsing the whole file, the totals by code across all
+ * projects and the projects with the most differences.
+ */
+final class ResultsAggregator implements Closeable {
+    private static final JsonFactory JSON_FACTORY =
+            new JsonFactory().enable(JsonParser.Feature.ALLOW_TRAILING_COMMA);
+
+    private final CountingOutputStream combinedOutput;
+    private final JsonGenerator combined;
+    private final JsonGenerator summary;
+    private final int maxTopOffenders;
+    private final SortedMap<String, Long> totalsByCode = new TreeMap<>();
+    private final PriorityQueue<Offender> topOffenders =
+            new PriorityQueue<>(Comparator.comparingLong((Offender offender) -> offender.differences)
+                    .thenComparing(offender -> offender.projectPath, Comparator.reverseOrder()));
+    private long totalDifferences;
+
+    ResultsAggregator(File combinedResultsFile, File summaryFile, int maxTopOffenders) throws IOException {
+        combinedResultsFile.getParentFile().mkdirs();
+        summaryFile.getParentFile().mkdirs();
+
+        this.combinedOutput =
+                new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(combinedResultsFile)));
+        this.combined = JSON_FACTORY.createGenerator(combinedOutput, JsonEncoding.UTF8);
+        this.summary = JSON_FACTORY.createGenerator(summaryFile, JsonEncoding.UTF8).useDefaultPrettyPrinter();
+        this.maxTopOffenders = maxTopOffenders;
+
+        combined.writeStartObject();
+        combined.writeArrayFieldStart("projects");
+        summary.writeStartObject();
+        summary.writeArrayFieldStart("projects");
+    }
+
+    /** Adds the {@code resultsFile} written by {@code revapiAnalyze} in the project at {@code projectPath}. */
+    public void add(String projectPath, File resultsFile) throws IOException {
+        SortedMap<String, Long> countsByCode = new TreeMap<>();
+        long differences = 0;
+
+        combined.writeStartObject();
+        combined.flush();
+        long offset = combinedOutput.getCount() - 1;
+        combined.writeStringField("project", projectPath);
+
+        try (JsonParser parser = JSON_FACTORY.createParser(resultsFile)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT, resultsFile);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                combined.writeFieldName(field);
+                if (!"results".equals(field)) {
+                    parser.nextToken();
+                    combined.copyCurrentStructure(parser);
+                    continue;
+                }
+
+                expect(parser.nextToken(), JsonToken.START_ARRAY, resultsFile);
+                combined.writeStartArray();
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    countsByCode.merge(copyResult(parser), 1L, Long::sum);
+                    differences++;
+                }
+                combined.writeEndArray();
+            }
+        }
+
+        combined.writeEndObject();
+        combined.flush();
+        long length = combinedOutput.getCount() - offset;
+
+        summary.writeStartObject();
+        summary.writeStringField("project", projectPath);
+        summary.writeNumberField("differences", differences);
+        summary.writeNumberField("offset", offset);
+        summary.writeNumberField("length", length);
+        writeCounts(summary, "byCode", countsByCode);
+        summary.writeEndObject();
+
+        countsByCode.forEach((code, count) -> totalsByCode.merge(code, count, Long::sum));
+        totalDifferences += differences;
+        if (differences > 0) {
+            topOffenders.add(new Offender(projectPath, differences));
+            if (topOffenders.size() > maxTopOffenders) {
+                topOffenders.poll();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            combined.writeEndArray();
+            combined.writeEndObject();
+
+            summary.writeEndArray();
+            summary.writeNumberField("differences", totalDifferences);
+            writeCounts(summary, "byCode", totalsByCode);
+            summary.writeArrayFieldStart("topOffenders");
+            for (Offender offender : topOffendersMostFirst()) {
+                summary.writeStartObject();
+                summary.writeStringField("project", offender.projectPath);
+                summary.writeNumberField("differences", offender.differences);
+                summary.writeEndObject();
+            }
+            summary.writeEndArray();
+            summary.writeEndObject();
+        } finally {
+            try {
+                combined.close();
+            } finally {
+                summary.close();
+            }
+        }
+    }
+
+    /** Copies the result the parser is at the start of to the combined results, returning its code. */
+    private String copyResult(JsonParser parser) throws IOException {
+        String code = "";
+        combined.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            combined.writeFieldName(field);
+            parser.nextToken();
+            if ("code".equals(field) && parser.currentToken() == JsonToken.VALUE_STRING) {
+                code = parser.getText();
+            }
+            combined.copyCurrentStructure(parser);
+        }
+        combined.writeEndObject();
+        return code;
+    }
+
+    private List<Offender> topOffendersMostFirst() {
+        List<Offender> offenders = new ArrayList<>();
+        while (!topOffenders.isEmpty()) {
+            offenders.add(0, topOffenders.poll());
+        }
+        return offenders;
+    }
+
+    private static void writeCounts(JsonGenerator json, String fieldName, Map<String, Long> counts)
+            throws IOException {
+        json.writeObjectFieldStart(fieldName);
+        for (Map.Entry<String, Long> count : counts.entrySet()) {
+            json.writeNumberField(count.getKey(), count.getValue());
+        }
+        json.writeEndObject();
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, File resultsFile) {
+        if (actual != expected) {
+            throw new RuntimeException(
+                    "Expected " + expected + " but found " + actual + " when reading revapi results " + resultsFile);
+        }
+    }
+
+    private static final class Offender {
+        private final String projectPath;
+        private final long differences;
+
+        Offender(String projectPath, long differences) {
+            this.projectPath = projectPath;
+            this.differences = differences;
+        }
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.revapi.CompatibilityType;
+import org.revapi.DifferenceSeverity;
+
+/**
+ * A compact binary form of {@link AnalysisResults} that can be queried through a memory mapped file without parsing
+ * it. Every string (element signatures, archive names, codes and descriptions) is stored once in a string table, and
+ * each difference is a fixed width record of indexes into it. Records are sorted by code, and a table of codes points
+ * at the range of records for each code, so that finding the differences with a given code only reads those records.
+ *
+ * <pre>
+ * header:     magic, format version, archive names string, string count, code count, record count (all ints)
+ * offsets:    the offset of each string in the string data (ints)
+ * codes:      the code string, first record and record count of each code (ints)
+ * records:    code, old element, new element, description, old archive and new archive strings, or -1 if absent,
+ *             and the classification packed into an int
+ * strings:    the length then the utf-8 bytes of each string
+ * </pre>
+ */
+public final class ResultsStore {
+    private static final int MAGIC = 0x52565253;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 6 * Integer.BYTES;
+    private static final int CODE_BYTES = 3 * Integer.BYTES;
+    private static final int RECORD_INTS = 7;
+    private static final int RECORD_BYTES = RECORD_INTS * Integer.BYTES;
+    private static final int NO_STRING = -1;
+    private static final int SEVERITY_BITS = 3;
+
+    private final ByteBuffer buffer;
+    private final int stringCount;
+    private final int codeCount;
+    private final int recordCount;
+    private final int offsetsStart;
+    private final int codesStart;
+    private final int recordsStart;
+    private final int stringsStart;
+
+    private ResultsStore(ByteBuffer buffer, File file) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != FORMAT_VERSION) {
+            throw new RuntimeException(file + " is not a revapi results store written by this version of the plugin");
+        }
+        this.stringCount = buffer.getInt(3 * Integer.BYTES);
+        this.codeCount = buffer.getInt(4 * Integer.BYTES);
+        this.recordCount = buffer.getInt(5 * Integer.BYTES);
+        this.offsetsStart = HEADER_BYTES;
+        this.codesStart = offsetsStart + stringCount * Integer.BYTES;
+        this.recordsStart = codesStart + codeCount * CODE_BYTES;
+        this.stringsStart = recordsStart + recordCount * RECORD_BYTES;
+    }
+
+    /** Memory maps a store written by {@link #write}. */
+    public static ResultsStore open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ResultsStore(buffer, file);
+        }
+    }
+
+    public static void write(AnalysisResults analysisResults, File file) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        int archiveNames = indexOf(strings, analysisResults.archiveNames());
+
+        List<AnalysisResult> results = analysisResults.results().stream()
+                .sorted(Comparator.comparing(AnalysisResult::code))
+                .collect(Collectors.toList());
+
+        List<int[]> codes = new ArrayList<>();
+        List<int[]> records = new ArrayList<>();
+        for (AnalysisResult result : results) {
+            int code = indexOf(strings, result.code());
+            if (codes.isEmpty() || codes.get(codes.size() - 1)[0] != code) {
+                codes.add(new int[] {code, records.size(), 0});
+            }
+            codes.get(codes.size() - 1)[2]++;
+
+            records.add(new int[] {
+                code,
+                indexOf(strings, result.oldElement()),
+                indexOf(strings, result.newElement()),
+                indexOf(strings, result.description()),
+                indexOf(strings, result.oldArchiveName()),
+                indexOf(strings, result.newArchiveName()),
+                packClassification(result.classification())
+            });
+        }
+
+        List<byte[]> stringBytes = strings.keySet().stream()
+                .map(string -> string.getBytes(StandardCharsets.UTF_8))
+                .collect(Collectors.toList());
+
+        file.getParentFile().mkdirs();
+        try (DataOutputStream output =
+                new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(archiveNames);
+            output.writeInt(stringBytes.size());
+            output.writeInt(codes.size());
+            output.writeInt(records.size());
+
+            int offset = 0;
+            for (byte[] bytes : stringBytes) {
+                output.writeInt(offset);
+                offset += Integer.BYTES + bytes.length;
+            }
+            for (int[] code : codes) {
+                for (int value : code) {
+                    output.writeInt(value);
+                }
+            }
+            for (int[] record : records) {
+                for (int value : record) {
+                    output.writeInt(value);
+                }
+            }
+            for (byte[] bytes : stringBytes) {
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+        }
+    }
+
+    public int size() {
+        return recordCount;
+    }
+
+    public String archiveNames() {
+        return string(buffer.getInt(2 * Integer.BYTES));
+    }
+
+    public SortedSet<String> codes() {
+        SortedSet<String> codes = new TreeSet<>();
+        for (int code = 0; code < codeCount; code++) {
+            codes.add(string(buffer.getInt(codesStart + code * CODE_BYTES)));
+        }
+        return codes;
+    }
+
+    public AnalysisResults toAnalysisResults() {
+        return AnalysisResults.builder()
+                .archiveNames(archiveNames())
+                .results(query(Optional.empty(), Optional.empty()))
+                .build();
+    }
+
+    /**
+     * The differences with the given {@code code}, if any, whose old or new element contains {@code elementSubstring},
+     * if any. Only the strings of the differences that match are decoded.
+     */
+    public List<AnalysisResult> query(Optional<String> code, Optional<String> elementSubstring) {
+        BitSet matchingStrings = elementSubstring.map(this::stringsContaining).orElse(null);
+
+        List<AnalysisResult> results = new ArrayList<>();
+        for (int codeIndex = 0; codeIndex < codeCount; codeIndex++) {
+            int codePosition = codesStart + codeIndex * CODE_BYTES;
+            if (code.isPresent() && !code.get().equals(string(buffer.getInt(codePosition)))) {
+                continue;
+            }
+
+            int firstRecord = buffer.getInt(codePosition + Integer.BYTES);
+            int records = buffer.getInt(codePosition + 2 * Integer.BYTES);
+            for (int record = firstRecord; record < firstRecord + records; record++) {
+                int recordPosition = recordsStart + record * RECORD_BYTES;
+                if (matchingStrings == null
+                        || matches(matchingStrings, buffer.getInt(recordPosition + Integer.BYTES))
+                        || matches(matchingStrings, buffer.getInt(recordPosition + 2 * Integer.BYTES))) {
+                    results.add(result(recordPosition));
+                }
+            }
+        }
+        return results;
+    }
+
+    private BitSet stringsContaining(String substring) {
+        byte[] substringBytes = substring.getBytes(StandardCharsets.UTF_8);
+        BitSet matching = new BitSet(stringCount);
+        for (int index = 0; index < stringCount; index++) {
+            if (containsBytes(index, substringBytes)) {
+                matching.set(index);
+            }
+        }
+        return matching;
+    }
+
+    /** Compares utf-8 bytes in place, so that strings which don't match are never decoded. */
+    private boolean containsBytes(int index, byte[] substring) {
+        int position = stringPosition(index);
+        int length = buffer.getInt(position);
+        int start = position + Integer.BYTES;
+        for (int offset = 0; offset <= length - substring.length; offset++) {
+            int matched = 0;
+            while (matched < substring.length && buffer.get(start + offset + matched) == substring[matched]) {
+                matched++;
+            }
+            if (matched == substring.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(BitSet matchingStrings, int index) {
+        return index != NO_STRING && matchingStrings.get(index);
+    }
+
+    private AnalysisResult result(int position) {
+        return AnalysisResult.builder()
+                .code(string(buffer.getInt(position)))
+                .oldElement(nullableString(buffer.getInt(position + Integer.BYTES)))
+                .newElement(nullableString(buffer.getInt(position + 2 * Integer.BYTES)))
+                .description(nullableString(buffer.getInt(position + 3 * Integer.BYTES)))
+                .oldArchiveName(nullableString(buffer.getInt(position + 4 * Integer.BYTES)))
+                .newArchiveName(nullableString(buffer.getInt(position + 5 * Integer.BYTES)))
+                .classification(unpackClassification(buffer.getInt(position + 6 * Integer.BYTES)))
+                .build();
+    }
+
+    @Nullable
+    private String nullableString(int index) {
+        return index == NO_STRING ? null : string(index);
+    }
+
+    private String string(int index) {
+        int position = stringPosition(index);
+        byte[] bytes = new byte[buffer.getInt(position)];
+        ByteBuffer view = buffer.duplicate();
+        view.position(position + Integer.BYTES);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int stringPosition(int index) {
+        return stringsStart + buffer.getInt(offsetsStart + index * Integer.BYTES);
+    }
+
+    private static int indexOf(Map<String, Integer> strings, @Nullable String string) {
+        if (string == null) {
+            return NO_STRING;
+        }
+        return strings.computeIfAbsent(string, _string -> strings.size());
+    }
+
+    /** Each compatibility type gets a few bits holding its severity's ordinal plus one, or zero if it is absent. */
+    private static int packClassification(Map<CompatibilityType, DifferenceSeverity> classification) {
+        int packed = 0;
+        for (Map.Entry<CompatibilityType, DifferenceSeverity> entry : classification.entrySet()) {
+            packed |= (entry.getValue().ordinal() + 1) << (entry.getKey().ordinal() * SEVERITY_BITS);
+        }
+        return packed;
+    }
+
+    private static Map<CompatibilityType, DifferenceSeverity> unpackClassification(int packed) {
+        Map<CompatibilityType, DifferenceSeverity> classification = new EnumMap<>(CompatibilityType.class);
+        for (CompatibilityType type : CompatibilityType.values()) {
+            int severity = (packed >>> (type.ordinal() * SEVERITY_BITS)) & ((1 << SEVERITY_BITS) - 1);
+            if (severity != 0) {
+                classification.put(type, DifferenceSeverity.values()[severity - 1]);
+            }
+        }
+        return classification;
+    }
+}
@@ -19,6 +19,8 @@ package com.palantir.gradle.revapi;
 import com.palantir.gradle.revapi.config.AcceptedBreak;
 import com.palantir.gradle.revapi.config.GroupNameVersion;
 import com.palantir.gradle.revapi.config.Justification;
+import java.io.File;
+import java.io.IOException;
 import java.util.Set;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.file.RegularFileProperty;
@@ -39,6 +41,8 @@ public class RevapiAcceptAllBreaksTask extends DefaultTask {
 
     private final RegularFileProperty analysisResultsFile =
             getProject().getObjects().fileProperty();
+    private final RegularFileProperty binaryResultsFile =
+            getProject().getObjects().fileProperty();
     private final Property<Justification> justification =
             getProject().getObjects().property(Justification.class);
 
@@ -61,22 +65,35 @@ public class RevapiAcceptAllBreaksTask extends DefaultTask {
         return analysisResultsFile;
     }
 
+    /** Read instead of the json results when {@code revapiAnalyze} wrote it, as it is much faster to load. */
+    @Internal
+    final RegularFileProperty getBinaryResultsFile() {
+        return binaryResultsFile;
+    }
+
     @Option(option = JUSTIFICATION, description = "Justification for why these breaks are ok")
     public final void setJustification(String justificationString) {
         this.justification.set(Justification.fromString(justificationString));
     }
 
     @TaskAction
-    public final void addVersionOverride() {
+    public final void addVersionOverride() throws IOException {
         if (!justification.isPresent()) {
             throw new RuntimeException("Please supply the --" + JUSTIFICATION + " param to this task");
         }
 
-        Set<AcceptedBreak> acceptedBreaks =
-                AnalysisResults.fromFile(analysisResultsFile.getAsFile().get()).toAcceptedBreaks(justification.get());
+        Set<AcceptedBreak> acceptedBreaks = analysisResults().toAcceptedBreaks(justification.get());
 
         configManager
                 .get()
                 .modifyConfigFile(config -> config.addAcceptedBreaks(oldGroupNameVersion.get(), acceptedBreaks));
     }
+
+    private AnalysisResults analysisResults() throws IOException {
+        File binaryFile = binaryResultsFile.getAsFile().get();
+        if (binaryFile.isFile()) {
+            return ResultsStore.open(binaryFile).toAnalysisResults();
+        }
+        return AnalysisResults.fromFile(analysisResultsFile.getAsFile().get());
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.Project;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.TaskProvider;
+
+/**
+ * Merges the results of {@code revapiAnalyze} in every project into {@code build/revapi/revapi-aggregate-results.json}
+ * and {@code build/revapi/revapi-aggregate-summary.json} in the root project, see {@link ResultsAggregator}.
+ */
+public class RevapiAggregateTask extends DefaultTask {
+    public static final String TASK_NAME = "revapiAggregate";
+
+    private final MapProperty<String, RegularFile> projectResultsFiles =
+            getProject().getObjects().mapProperty(String.class, RegularFile.class);
+    private final ConfigurableFileCollection resultsFiles = getProject().files();
+    private final Property<Integer> maxTopOffenders =
+            getProject().getObjects().property(Integer.class);
+    private final RegularFileProperty combinedResultsFile =
+            getProject().getObjects().fileProperty();
+    private final RegularFileProperty summaryFile =
+            getProject().getObjects().fileProperty();
+
+    /** Registers the task in the root project the first time any project applies the plugin. */
+    static TaskProvider<RevapiAggregateTask> registerOnce(Project project) {
+        Project rootProject = project.getRootProject();
+        if (rootProject.getTasks().getNames().contains(TASK_NAME)) {
+            return rootProject.getTasks().named(TASK_NAME, RevapiAggregateTask.class);
+        }
+
+        File revapiBuildDir = new File(rootProject.getBuildDir(), "revapi");
+        return rootProject.getTasks().register(TASK_NAME, RevapiAggregateTask.class, task -> {
+            task.getMaxTopOffenders().set(20);
+            task.getCombinedResultsFile().set(new File(revapiBuildDir, "revapi-aggregate-results.json"));
+            task.getSummaryFile().set(new File(revapiBuildDir, "revapi-aggregate-summary.json"));
+        });
+    }
+
+    /** Adds the results file of the project at {@code projectPath}, which is skipped if it does not exist. */
+    final void addProject(String projectPath, Provider<RegularFile> resultsFile) {
+        projectResultsFiles.put(projectPath, resultsFile);
+        resultsFiles.from(resultsFile);
+    }
+
+    @Internal
+    final MapProperty<String, RegularFile> getProjectResultsFiles() {
+        return projectResultsFiles;
+    }
+
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public final ConfigurableFileCollection getResultsFiles() {
+        return resultsFiles;
+    }
+
+    @Input
+    public final Property<Integer> getMaxTopOffenders() {
+        return maxTopOffenders;
+    }
+
+    @OutputFile
+    public final RegularFileProperty getCombinedResultsFile() {
+        return combinedResultsFile;
+    }
+
+    @OutputFile
+    public final RegularFileProperty getSummaryFile() {
+        return summaryFile;
+    }
+
+    @TaskAction
+    public final void aggregate() throws IOException {
+        try (ResultsAggregator aggregator = new ResultsAggregator(
+                combinedResultsFile.getAsFile().get(), summaryFile.getAsFile().get(), maxTopOffenders.get())) {
+            for (Map.Entry<String, RegularFile> entry : new TreeMap<>(projectResultsFiles.get()).entrySet()) {
+                File resultsFile = entry.getValue().getAsFile();
+                // Projects with nothing to compare against skip revapiAnalyze, so have no results
+                if (resultsFile.isFile()) {
+                    aggregator.add(entry.getKey(), resultsFile);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.palantir.gradle.revapi.config.AcceptedBreak;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.jboss.dmr.ModelNode;
+import org.revapi.API;
+import org.revapi.AnalysisContext;
+import org.revapi.AnalysisResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs revapi over an old and new API and writes the differences to a results file. This does not depend on gradle,
+ * so that the whole analysis can also be driven by benchmarks.
+ */
+final class RevapiAnalysis {
+    private static final Logger log = LoggerFactory.getLogger(RevapiAnalysis.class);
+    private static final Cache<HashCode, ModelNode> BUILT_CONFIGS =
+            CacheBuilder.newBuilder().maximumSize(64).softValues().build();
+
+    private RevapiAnalysis() {}
+
+    /**
+     * The config for an analysis that reports breaks in {@code jarsToReportBreaks} to {@code analysisResultsFile},
+     * ignoring {@code acceptedBreaks}, with any other {@code extraConfig} merged in. Building this is dominated by
+     * the accepted breaks, which rarely change between runs, so built configs are cached by a hash of the inputs. Each
+     * caller gets its own copy, as revapi's extensions add any keys they look up but are missing to the config.
+     */
+    static ModelNode config(
+            Set<File> jarsToReportBreaks,
+            File analysisResultsFile,
+            Set<AcceptedBreak> acceptedBreaks,
+            RevapiConfig extraConfig) {
+        HashCode key = configKey(jarsToReportBreaks, analysisResultsFile, acceptedBreaks, extraConfig);
+        ModelNode config = BUILT_CONFIGS.getIfPresent(key);
+        if (config == null) {
+            config = RevapiConfig.mergeAll(
+                            RevapiConfig.defaults(),
+                            ReportedArchivesFilter.configFor(jarsToReportBreaks),
+                            RevapiConfig.empty().withTextReporter("gradle-revapi-results.ftl", analysisResultsFile),
+                            AcceptedBreaksTransform.configFor(acceptedBreaks),
+                            extraConfig,
+                            ImmutablesFilter.CONFIG)
+                    .toModelNode();
+            BUILT_CONFIGS.put(key, config);
+        }
+        return config.clone();
+    }
+
+    private static HashCode configKey(
+            Set<File> jarsToReportBreaks,
+            File analysisResultsFile,
+            Set<AcceptedBreak> acceptedBreaks,
+            RevapiConfig extraConfig) {
+        Hasher hasher = Hashing.sha256().newHasher();
+
+        List<String> archiveNames = jarsToReportBreaks.stream()
+                .map(DirectoryArchive::nameOf)
+                .sorted()
+                .collect(Collectors.toList());
+        hasher.putInt(archiveNames.size());
+        archiveNames.forEach(archiveName -> putString(hasher, archiveName));
+
+        putString(hasher, analysisResultsFile.getAbsolutePath());
+
+        // Equal sets can iterate in different orders, so the accepted breaks are hashed separately and combined in a
+        // way that does not depend on their order
+        hasher.putInt(acceptedBreaks.size());
+        if (!acceptedBreaks.isEmpty()) {
+            hasher.putBytes(Hashing.combineUnordered(acceptedBreaks.stream()
+                            .map(RevapiAnalysis::acceptedBreakHash)
+                            .collect(Collectors.toList()))
+                    .asBytes());
+        }
+
+        putString(hasher, extraConfig.configAsString());
+        return hasher.hash();
+    }
+
+    private static HashCode acceptedBreakHash(AcceptedBreak acceptedBreak) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        putString(hasher, acceptedBreak.code());
+        putOptionalString(hasher, acceptedBreak.oldElement());
+        putOptionalString(hasher, acceptedBreak.newElement());
+        putString(hasher, acceptedBreak.justification().asString());
+        return hasher.hash();
+    }
+
+    private static void putString(Hasher hasher, String string) {
+        hasher.putInt(string.length()).putString(string, StandardCharsets.UTF_8);
+    }
+
+    private static void putOptionalString(Hasher hasher, Optional<String> string) {
+        hasher.putBoolean(string.isPresent());
+        string.ifPresent(value -> putString(hasher, value));
+    }
+
+    @SuppressWarnings("try")
+    static void analyze(
+            RevapiEngines engines,
+            API oldApi,
+            API newApi,
+            ModelNode revapiConfig,
+            PhaseTimer phaseTimer,
+            TransformMetrics transformMetrics) throws Exception {
+        if (log.isInfoEnabled()) {
+            log.info("revapi config:\n{}", revapiConfig.toJSONString(false));
+        }
+
+        try (PhaseTimer.Span _span = phaseTimer.start(RevapiPhase.ANALYZE);
+                RevapiEngines.Lease engine = engines.lease();
+                AnalysisResult analysisResult = engine.revapi().analyze(AnalysisContext.builder()
+                        .withOldAPI(oldApi)
+                        .withNewAPI(newApi)
+                        // https://revapi.org/modules/revapi-java/extensions/java.html
+                        .withConfiguration(revapiConfig)
+                        .withData(PhaseTimer.ANALYSIS_CONTEXT_KEY, phaseTimer)
+                        .withData(TransformMetrics.ANALYSIS_CONTEXT_KEY, transformMetrics)
+                        .build())) {
+            analysisResult.throwIfFailed();
+        }
+    }
+
+    /**
+     * Runs {@code analyses} with at most {@code maxParallelism} running at once, returning their results in the same
+     * order. Revapi finds its extensions through the thread context classloader, so the threads use the caller's.
+     */
+    static <T> List<T> runConcurrently(List<Callable<T>> analyses, int maxParallelism) throws Exception {
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        ExecutorService executor =
+                Executors.newFixedThreadPool(Math.max(1, Math.min(maxParallelism, analyses.size())), runnable -> {
+                    Thread thread = new Thread(runnable, "revapi-analysis");
+                    thread.setContextClassLoader(contextClassLoader);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        try {
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : executor.invokeAll(analyses)) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    Throwables.throwIfInstanceOf(e.getCause(), Exception.class);
+                    Throwables.throwIfUnchecked(e.getCause());
+                    throw new RuntimeException(e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -16,28 +16,42 @@
 
 package com.palantir.gradle.revapi;
 
+import com.google.common.collect.Sets;
+import com.palantir.gradle.revapi.ApiClassFilter.ArchiveViews;
+import com.palantir.gradle.revapi.CompatibilityMatrix.BaselineResults;
+import com.palantir.gradle.revapi.ResolveOldApi.OldApi;
 import com.palantir.gradle.revapi.config.AcceptedBreak;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.gradle.api.DefaultTask;
+import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.provider.SetProperty;
 import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.CompileClasspath;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
+import org.jboss.dmr.ModelNode;
 import org.revapi.API;
-import org.revapi.AnalysisContext;
-import org.revapi.AnalysisResult;
-import org.revapi.Revapi;
-import org.revapi.java.JavaApiAnalyzer;
-import org.revapi.reporter.text.TextReporter;
-import org.revapi.simple.FileArchive;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,8 +71,48 @@ public class RevapiAnalyzeTask extends DefaultTask {
             getProject().getObjects().property(FileCollection.class);
     private final Property<FileCollection> oldApiDependencyJars =
             getProject().getObjects().property(FileCollection.class);
+    private final ListProperty<OldApi> baselines =
+            getProject().getObjects().listProperty(OldApi.class);
+    private final Property<FileCollection> olderBaselineJars =
+            getProject().getObjects().property(FileCollection.class);
+    private final Property<Integer> maxParallelBaselines =
+            getProject().getObjects().property(Integer.class);
     private final RegularFileProperty analysisResultsFile =
             getProject().getObjects().fileProperty();
+    private final Property<Boolean> binaryResults =
+            getProject().getObjects().property(Boolean.class);
+    private final RegularFileProperty binaryResultsFile =
+            getProject().getObjects().fileProperty();
+    private final DirectoryProperty baselinesDirectory =
+            getProject().getObjects().directoryProperty();
+    private final RegularFileProperty transformMetricsFile =
+            getProject().getObjects().fileProperty();
+    private final ListProperty<String> relocationPrefixes =
+            getProject().getObjects().listProperty(String.class);
+    private final ListProperty<String> includePackages =
+            getProject().getObjects().listProperty(String.class);
+    private final ListProperty<String> excludePackages =
+            getProject().getObjects().listProperty(String.class);
+    private final ListProperty<String> excludeAnnotations =
+            getProject().getObjects().listProperty(String.class);
+    private final Property<Boolean> failFast =
+            getProject().getObjects().property(Boolean.class);
+    private final Property<Boolean> classesDirectories =
+            getProject().getObjects().property(Boolean.class);
+    private final Property<Boolean> pruneSupportArchives =
+            getProject().getObjects().property(Boolean.class);
+    private final Property<Boolean> recordJfr =
+            getProject().getObjects().property(Boolean.class);
+    private final Property<String> jfrSettings =
+            getProject().getObjects().property(String.class);
+    private final RegularFileProperty jfrFile =
+            getProject().getObjects().fileProperty();
+    private final Property<ArchiveMetadataCacheService> archiveMetadataCache =
+            getProject().getObjects().property(ArchiveMetadataCacheService.class);
+    private final Property<RevapiMetricsService> metrics =
+            getProject().getObjects().property(RevapiMetricsService.class);
+    private final Property<RevapiEngineService> revapiEngines =
+            getProject().getObjects().property(RevapiEngineService.class);
 
     @Input
     public final SetProperty<AcceptedBreak> getAcceptedBreaks() {
@@ -90,62 +144,315 @@ public class RevapiAnalyzeTask extends DefaultTask {
         return oldApiDependencyJars;
     }
 
+    /** Every old API to compare against, most recent first. The first is the one in {@link #getOldApiJars()}. */
+    @Internal
+    final ListProperty<OldApi> getBaselines() {
+        return baselines;
+    }
+
+    /** The jars and dependency jars of all but the first of the {@link #getBaselines()}. */
+    @CompileClasspath
+    public final Property<FileCollection> getOlderBaselineJars() {
+        return olderBaselineJars;
+    }
+
+    @Internal
+    public final Property<Integer> getMaxParallelBaselines() {
+        return maxParallelBaselines;
+    }
+
     @OutputFile
     public final RegularFileProperty getAnalysisResultsFile() {
         return analysisResultsFile;
     }
 
+    @Input
+    public final Property<Boolean> getBinaryResults() {
+        return binaryResults;
+    }
+
+    /** The {@link ResultsStore} form of the results, which is only written if {@link #getBinaryResults()} is set. */
+    @OutputFile
+    public final RegularFileProperty getBinaryResultsFile() {
+        return binaryResultsFile;
+    }
+
+    /** Where the results against each of the {@link #getBaselines()} and their compatibility matrix are written. */
+    @OutputDirectory
+    public final DirectoryProperty getBaselinesDirectory() {
+        return baselinesDirectory;
+    }
+
+    @OutputFile
+    public final RegularFileProperty getTransformMetricsFile() {
+        return transformMetricsFile;
+    }
+
+    @Input
+    public final ListProperty<String> getRelocationPrefixes() {
+        return relocationPrefixes;
+    }
+
+    @Input
+    public final ListProperty<String> getIncludePackages() {
+        return includePackages;
+    }
+
+    @Input
+    public final ListProperty<String> getExcludePackages() {
+        return excludePackages;
+    }
+
+    @Input
+    public final ListProperty<String> getExcludeAnnotations() {
+        return excludeAnnotations;
+    }
+
+    @Input
+    public final Property<Boolean> getFailFast() {
+        return failFast;
+    }
+
+    @Input
+    public final Property<Boolean> getClassesDirectories() {
+        return classesDirectories;
+    }
+
+    @Input
+    public final Property<Boolean> getPruneSupportArchives() {
+        return pruneSupportArchives;
+    }
+
+    @Input
+    public final Property<Boolean> getRecordJfr() {
+        return recordJfr;
+    }
+
+    @Internal
+    public final Property<String> getJfrSettings() {
+        return jfrSettings;
+    }
+
+    @Internal
+    public final RegularFileProperty getJfrFile() {
+        return jfrFile;
+    }
+
+    @Internal
+    final Property<ArchiveMetadataCacheService> getArchiveMetadataCache() {
+        return archiveMetadataCache;
+    }
+
+    @Internal
+    final Property<RevapiMetricsService> getMetrics() {
+        return metrics;
+    }
+
+    @Internal
+    final Property<RevapiEngineService> getRevapiEngines() {
+        return revapiEngines;
+    }
+
     @TaskAction
     protected final void runRevapi() throws Exception {
-        API oldApi = api(oldApiJars, oldApiDependencyJars);
-        API newApi = api(newApiJars, newApiDependencyJars);
+        if (!recordJfr.get()) {
+            analyzeApis();
+            return;
+        }
+
+        Optional<JfrRecording> recording =
+                JfrRecording.start("revapi " + getPath(), jfrSettings.get(), jfrFile.getAsFile().get());
+        try {
+            analyzeApis();
+        } finally {
+            recording.ifPresent(JfrRecording::close);
+        }
+    }
+
+    @SuppressWarnings("try")
+    private void analyzeApis() throws Exception {
+        PhaseTimer phaseTimer = metrics.get().timerFor(getProject());
+
+        API oldApi;
+        API newApi;
+        try (PhaseTimer.Span _span = phaseTimer.start(RevapiPhase.LOAD_ARCHIVES)) {
+            oldApi = api(existingFiles(oldApiJars), existingFiles(oldApiDependencyJars));
+            newApi = api(existingFiles(newApiJars), existingFiles(newApiDependencyJars));
+        }
 
         log.info("Old API: {}", oldApi);
         log.info("New API: {}", newApi);
 
-        Revapi revapi = Revapi.builder()
-                .withAllExtensionsFromThreadContextClassLoader()
-                .withAnalyzers(JavaApiAnalyzer.class)
-                .withReporters(TextReporter.class)
-                .withTransforms(CheckWhitelist.class, ImmutablesFilter.class)
-                .build();
+        RevapiConfig extraConfig = ConjureProjectFilters.forProject(getProject());
+        ModelNode revapiConfig = RevapiAnalysis.config(
+                jarsToReportBreaks.get().getFiles(),
+                analysisResultsFile.getAsFile().get(),
+                acceptedBreaks.get(),
+                failFast.get() ? extraConfig.mergeWith(FailFastReporter.CONFIG) : extraConfig);
+
+        TransformMetrics transformMetrics = new TransformMetrics();
+        if (failFast.get()) {
+            analyzeFailFast(oldApi, newApi, revapiConfig, phaseTimer, transformMetrics);
+        } else if (baselines.get().size() <= 1) {
+            RevapiAnalysis.analyze(engines(), oldApi, newApi, revapiConfig, phaseTimer, transformMetrics);
+        } else {
+            analyzeBaselines(oldApi, newApi, revapiConfig, extraConfig, phaseTimer, transformMetrics);
+        }
 
-        RevapiConfig revapiConfig = RevapiConfig.mergeAll(
-                RevapiConfig.defaults(jarsToReportBreaks.get()),
-                RevapiConfig.empty()
-                        .withTextReporter(
-                                "gradle-revapi-results.ftl",
-                                analysisResultsFile.getAsFile().get()),
-                revapiIgnores(),
-                ConjureProjectFilters.forProject(getProject()),
-                ImmutablesFilter.CONFIG);
-
-        log.info("revapi config:\n{}", revapiConfig.configAsString());
-
-        try (AnalysisResult analysisResult = revapi.analyze(AnalysisContext.builder()
-                .withOldAPI(oldApi)
-                .withNewAPI(newApi)
-                // https://revapi.org/modules/revapi-java/extensions/java.html
-                .withConfigurationFromJSON(revapiConfig.configAsString())
-                .build())) {
-            analysisResult.throwIfFailed();
+        transformMetrics.write(transformMetricsFile.getAsFile().get());
+        writeBinaryResults();
+    }
+
+    /**
+     * Only compares against the first baseline, stopping at the first break. The results file then contains just that
+     * break, so the report task fails with it as usual.
+     */
+    private void analyzeFailFast(
+            API oldApi, API newApi, ModelNode revapiConfig, PhaseTimer phaseTimer, TransformMetrics transformMetrics)
+            throws Exception {
+        try {
+            RevapiAnalysis.analyze(engines(), oldApi, newApi, revapiConfig, phaseTimer, transformMetrics);
+        } catch (Exception e) {
+            Optional<AnalysisResults> breakFound = FailFastReporter.breakFoundIn(e);
+            if (!breakFound.isPresent()) {
+                throw e;
+            }
+
+            log.warn("Stopped revapi analysis at the first break as fail fast is enabled");
+            breakFound.get().writeTo(analysisResultsFile.getAsFile().get());
         }
     }
 
-    private RevapiConfig revapiIgnores() {
-        return RevapiConfig.empty().withIgnoredBreaks(acceptedBreaks.get());
+    private void writeBinaryResults() throws IOException {
+        File binaryFile = binaryResultsFile.getAsFile().get();
+        if (!binaryResults.get()) {
+            // Don't leave behind a stale store from when binary results were enabled
+            Files.deleteIfExists(binaryFile.toPath());
+            return;
+        }
+
+        ResultsStore.write(AnalysisResults.fromFile(analysisResultsFile.getAsFile().get()), binaryFile);
     }
 
-    private API api(Provider<FileCollection> apiJars, Provider<FileCollection> dependencyJars) {
+    /**
+     * Compares the new API against every baseline concurrently, reusing the archives of the new API. Only the analysis
+     * against the first baseline writes the results file used by the report, and only its transforms are measured.
+     */
+    @SuppressWarnings("try")
+    private void analyzeBaselines(
+            API oldApi,
+            API newApi,
+            ModelNode revapiConfig,
+            RevapiConfig extraConfig,
+            PhaseTimer phaseTimer,
+            TransformMetrics transformMetrics)
+            throws Exception {
+        File baselinesDir = baselinesDirectory.getAsFile().get();
+        Set<File> newJarsToReportBreaks = new HashSet<>(jarsToReportBreaks.get().getFiles());
+        newJarsToReportBreaks.removeAll(oldApiJars.get().getFiles());
+
+        List<OldApi> oldApis = baselines.get();
+        List<Callable<File>> analyses = new ArrayList<>();
+        analyses.add(() -> {
+            RevapiAnalysis.analyze(engines(), oldApi, newApi, revapiConfig, phaseTimer, transformMetrics);
+            File resultsFile = resultsFileFor(baselinesDir, oldApis.get(0));
+            Files.copy(
+                    analysisResultsFile.getAsFile().get().toPath(),
+                    resultsFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+            return resultsFile;
+        });
+
+        for (OldApi olderOldApi : oldApis.subList(1, oldApis.size())) {
+            API olderApi;
+            try (PhaseTimer.Span _span = phaseTimer.start(RevapiPhase.LOAD_ARCHIVES)) {
+                olderApi = api(existingFiles(olderOldApi.jars()), existingFiles(olderOldApi.dependencyJars()));
+            }
+
+            File resultsFile = resultsFileFor(baselinesDir, olderOldApi);
+            ModelNode olderConfig = RevapiAnalysis.config(
+                    Sets.union(newJarsToReportBreaks, olderOldApi.jars()),
+                    resultsFile,
+                    acceptedBreaks.get(),
+                    extraConfig);
+            analyses.add(() -> {
+                RevapiAnalysis.analyze(engines(), olderApi, newApi, olderConfig, phaseTimer, new TransformMetrics());
+                return resultsFile;
+            });
+        }
+
+        List<File> resultsFiles = RevapiAnalysis.runConcurrently(analyses, maxParallelBaselines.get());
+
+        Map<String, BaselineResults> resultsPerVersion = new LinkedHashMap<>();
+        for (int i = 0; i < oldApis.size(); i++) {
+            resultsPerVersion.put(
+                    oldApis.get(i).version().asString(),
+                    BaselineResults.builder()
+                            .resultsFile(resultsFiles.get(i))
+                            .results(AnalysisResults.fromFile(resultsFiles.get(i)))
+                            .build());
+        }
+        CompatibilityMatrix.of(resultsPerVersion).write(new File(baselinesDir, "compatibility-matrix.json"));
+    }
+
+    private static File resultsFileFor(File baselinesDir, OldApi oldApi) {
+        return new File(baselinesDir, "revapi-results-" + oldApi.version().asString() + ".json");
+    }
+
+    private API api(List<File> archives, List<File> supportArchives) {
+        // Support archives are only used to resolve the classes the API references, so ones without any classes
+        // or with the same contents as another archive just make revapi do extra work
+        Set<String> contentHashes = new HashSet<>();
+        archives.forEach(archive -> contentHashes.add(metadataFor(archive).contentHash()));
+        List<File> usefulSupportArchives = supportArchives.stream()
+                .filter(supportArchive -> {
+                    ArchiveMetadata metadata = metadataFor(supportArchive);
+                    return metadata.hasClasses() && contentHashes.add(metadata.contentHash());
+                })
+                .collect(Collectors.toList());
+
+        if (pruneSupportArchives.get()) {
+            usefulSupportArchives =
+                    SupportArchivePruner.reachableSupportArchives(archives, usefulSupportArchives, this::metadataFor);
+        }
+
+        log.info(
+                "Skipping {} support archives that are empty, duplicates or not reachable from the API",
+                supportArchives.size() - usefulSupportArchives.size());
+
+        ApiClassFilter classFilter = new ApiClassFilter(
+                relocationPrefixes.get(), includePackages.get(), excludePackages.get(), excludeAnnotations.get());
+        List<ArchiveViews> archiveViews = archives.stream()
+                .map(archive -> classFilter.viewsOf(archive, metadataFor(archive)))
+                .collect(Collectors.toList());
+
         return API.builder()
-                .addArchives(toFileArchives(apiJars))
-                .addSupportArchives(toFileArchives(dependencyJars))
+                .addArchives(archiveViews.stream().map(ArchiveViews::api).collect(Collectors.toList()))
+                .addSupportArchives(archiveViews.stream()
+                        .flatMap(views -> views.excluded().map(Stream::of).orElseGet(Stream::empty))
+                        .collect(Collectors.toList()))
+                .addSupportArchives(usefulSupportArchives.stream()
+                        .map(DirectoryArchive::of)
+                        .collect(Collectors.toList()))
                 .build();
     }
 
-    private static List<FileArchive> toFileArchives(Provider<FileCollection> property) {
-        return property.get().filter(File::isFile).getFiles().stream()
-                .map(FileArchive::new)
+    private RevapiEngines engines() {
+        return revapiEngines.get().engines();
+    }
+
+    private ArchiveMetadata metadataFor(File archive) {
+        return archiveMetadataCache.get().metadataFor(archive);
+    }
+
+    private List<File> existingFiles(Provider<FileCollection> property) {
+        return existingFiles(property.get().getFiles());
+    }
+
+    private List<File> existingFiles(Set<File> files) {
+        // Only jars are analysed, unless RevapiExtension#getClassesDirectories is set, when classes directories are too
+        return files.stream()
+                .filter(classesDirectories.get() ? File::exists : File::isFile)
                 .collect(Collectors.toList());
     }
 }
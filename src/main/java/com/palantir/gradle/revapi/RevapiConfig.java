@@ -22,22 +22,21 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
-import com.palantir.gradle.revapi.config.AcceptedBreak;
 import java.io.File;
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import org.gradle.api.file.FileCollection;
 import org.immutables.value.Value;
+import org.jboss.dmr.ModelNode;
 
 @Value.Immutable
 @ImmutableStyle
 abstract class RevapiConfig {
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new Jdk8Module());
+    private static final RevapiConfig DEFAULTS =
+            fromString(Utils.resourceToString(RevapiConfig.class, "revapi-configuration.json"));
 
     protected abstract List<JsonNode> config();
 
@@ -49,6 +48,48 @@ abstract class RevapiConfig {
         }
     }
 
+    /**
+     * Builds the config as revapi's own representation directly, rather than revapi parsing it back out of
+     * {@link #configAsString()}.
+     */
+    public ModelNode toModelNode() {
+        ModelNode modelNode = new ModelNode().setEmptyList();
+        config().forEach(jsonNode -> copyInto(modelNode.add(), jsonNode));
+        return modelNode;
+    }
+
+    private static void copyInto(ModelNode target, JsonNode jsonNode) {
+        switch (jsonNode.getNodeType()) {
+            case OBJECT:
+                target.setEmptyObject();
+                jsonNode.fields().forEachRemaining(field -> copyInto(target.get(field.getKey()), field.getValue()));
+                return;
+            case ARRAY:
+                target.setEmptyList();
+                jsonNode.forEach(element -> copyInto(target.add(), element));
+                return;
+            case BOOLEAN:
+                target.set(jsonNode.booleanValue());
+                return;
+            case NUMBER:
+                if (jsonNode.isInt()) {
+                    target.set(jsonNode.intValue());
+                } else if (jsonNode.canConvertToLong() && jsonNode.isIntegralNumber()) {
+                    target.set(jsonNode.longValue());
+                } else if (jsonNode.isIntegralNumber()) {
+                    target.set(jsonNode.bigIntegerValue());
+                } else {
+                    target.set(jsonNode.decimalValue());
+                }
+                return;
+            case NULL:
+            case MISSING:
+                return;
+            default:
+                target.set(jsonNode.asText());
+        }
+    }
+
     public RevapiConfig withTextReporter(String templateName, File outputPath) {
         return withExtension(
                 "revapi.reporter.text",
@@ -60,10 +101,6 @@ abstract class RevapiConfig {
                         .put("append", false));
     }
 
-    public RevapiConfig withIgnoredBreaks(Set<AcceptedBreak> acceptedBreaks) {
-        return withExtension("revapi.ignore", OBJECT_MAPPER.convertValue(acceptedBreaks, ArrayNode.class));
-    }
-
     public RevapiConfig withExtension(String extensionId) {
         return withExtension(extensionId, OBJECT_MAPPER.createObjectNode());
     }
@@ -80,16 +117,16 @@ abstract class RevapiConfig {
         return new Builder().from(this).addAllConfig(other.config()).build();
     }
 
-    public static RevapiConfig defaults(FileCollection jarsToReportBreaks) {
-        String template = Utils.resourceToString(RevapiConfig.class, "revapi-configuration.json");
-
-        return fromString(template.replace(
-                "{{ARCHIVE_INCLUDE_REGEXES}}",
-                jarsToReportBreaks.getFiles().stream().map(File::getName).collect(Collectors.joining("\", \""))));
+    public static RevapiConfig defaults() {
+        return DEFAULTS;
     }
 
     public static RevapiConfig mergeAll(RevapiConfig... revapiConfigs) {
-        return Arrays.stream(revapiConfigs).reduce(empty(), RevapiConfig::mergeWith);
+        Builder builder = new Builder();
+        for (RevapiConfig revapiConfig : revapiConfigs) {
+            builder.addAllConfig(revapiConfig.config());
+        }
+        return builder.build();
     }
 
     static final class Builder extends ImmutableRevapiConfig.Builder {}
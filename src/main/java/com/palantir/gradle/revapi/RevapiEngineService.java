@@ -0,0 +1,46 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * Build scoped holder of the {@link RevapiEngines} pool, so that the projects of a build share their revapi engines,
+ * and the engines are dropped once the build is finished rather than pinning the classloaders of old builds in the
+ * daemon.
+ */
+public abstract class RevapiEngineService implements BuildService<BuildServiceParameters.None>, AutoCloseable {
+    private final RevapiEngines engines = new RevapiEngines();
+
+    final RevapiEngines engines() {
+        return engines;
+    }
+
+    @Override
+    public final void close() {
+        engines.clear();
+    }
+
+    static Provider<RevapiEngineService> register(Project project) {
+        return project.getGradle()
+                .getSharedServices()
+                .registerIfAbsent("revapiEngines", RevapiEngineService.class, _spec -> {});
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.revapi.Revapi;
+import org.revapi.java.JavaApiAnalyzer;
+import org.revapi.reporter.text.TextReporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps built {@link Revapi} engines around so that the ServiceLoader scan for extensions, and the schema validator
+ * each engine holds, are set up once rather than for every analysis. An engine can only run one analysis at a time, so
+ * idle engines are pooled per thread context classloader (which is what extensions are discovered from) and a new one
+ * is built whenever none are idle. The pool of a build is held by its {@link RevapiEngineService}, so that the
+ * engines, and the classloaders their extensions were loaded from, do not outlive the build. Its soft values let idle
+ * engines be dropped under memory pressure.
+ */
+final class RevapiEngines {
+    private static final Logger log = LoggerFactory.getLogger(RevapiEngines.class);
+
+    private final LoadingCache<ClassLoader, Queue<Revapi>> idleEngines = CacheBuilder.newBuilder()
+            .weakKeys()
+            .softValues()
+            .build(CacheLoader.from(_classLoader -> new ConcurrentLinkedQueue<>()));
+
+    Lease lease() {
+        Queue<Revapi> idleEngines = this.idleEngines.getUnchecked(Thread.currentThread().getContextClassLoader());
+        Revapi revapi = idleEngines.poll();
+        if (revapi == null) {
+            log.debug("No idle revapi engine available, building a new one");
+            revapi = build();
+        }
+        return new Lease(revapi, idleEngines);
+    }
+
+    /** Drops every idle engine. Engines that are leased out are dropped when they are handed back. */
+    void clear() {
+        idleEngines.invalidateAll();
+    }
+
+    private static Revapi build() {
+        return Revapi.builder()
+                .withAllExtensionsFromThreadContextClassLoader()
+                .withAnalyzers(JavaApiAnalyzer.class)
+                .withFilters(ReportedArchivesFilter.class)
+                .withReporters(TextReporter.class, FailFastReporter.class)
+                .withTransforms(AcceptedBreaksTransform.class, CheckWhitelist.class, ImmutablesFilter.class)
+                .build();
+    }
+
+    static final class Lease implements AutoCloseable {
+        private final Revapi revapi;
+        private final Queue<Revapi> idleEngines;
+
+        private Lease(Revapi revapi, Queue<Revapi> idleEngines) {
+            this.revapi = revapi;
+            this.idleEngines = idleEngines;
+        }
+
+        Revapi revapi() {
+            return revapi;
+        }
+
+        @Override
+        public void close() {
+            idleEngines.add(revapi);
+        }
+    }
+}
@@ -28,11 +28,27 @@ import org.gradle.api.provider.Provider;
 
 @SuppressWarnings("DesignForExtension")
 public class RevapiExtension {
+    static final String CLASSES_DIRECTORIES_PROPERTY = "revapi.classesDirectories";
+    static final String FAIL_FAST_PROPERTY = "revapi.failFast";
+
     private final Property<String> oldGroup;
     private final Property<String> oldName;
     private final ListProperty<String> oldVersions;
+    private final Property<Integer> baselines;
+    private final Property<Integer> maxParallelBaselines;
+    private final Property<Boolean> failFast;
+    private final Property<Boolean> pruneSupportArchives;
+    private final Property<Boolean> recordJfr;
+    private final Property<String> jfrSettings;
+    private final Property<Boolean> binaryResults;
+    private final Property<Boolean> classesDirectories;
+    private final ListProperty<String> relocationPrefixes;
+    private final ListProperty<String> includePackages;
+    private final ListProperty<String> excludePackages;
+    private final ListProperty<String> excludeAnnotations;
     private final Provider<GroupAndName> oldGroupAndName;
 
+    @SuppressWarnings("try")
     public RevapiExtension(Project project) {
         this.oldGroup = project.getObjects().property(String.class);
         this.oldGroup.set(
@@ -41,10 +57,52 @@ public class RevapiExtension {
         this.oldName = project.getObjects().property(String.class);
         this.oldName.set(project.getProviders().provider(project::getName));
 
+        this.baselines = project.getObjects().property(Integer.class);
+        this.baselines.set(1);
+
+        this.maxParallelBaselines = project.getObjects().property(Integer.class);
+        this.maxParallelBaselines.set(Runtime.getRuntime().availableProcessors());
+
         this.oldVersions = project.getObjects().listProperty(String.class);
-        this.oldVersions.set(project.getProviders()
-                .provider(
-                        () -> GitVersionUtils.previousGitTags(project).limit(3).collect(Collectors.toList())));
+        this.oldVersions.set(project.getProviders().provider(() -> {
+            try (PhaseTimer.Span _span = RevapiMetricsService.start(project, RevapiPhase.GIT_TAGS)) {
+                return GitVersionUtils.previousGitTags(project)
+                        .limit(Math.max(3, baselines.get()))
+                        .collect(Collectors.toList());
+            }
+        }));
+
+        this.failFast = project.getObjects().property(Boolean.class);
+        this.failFast.set(project.getProviders()
+                .gradleProperty(FAIL_FAST_PROPERTY)
+                .map(Boolean::parseBoolean)
+                .orElse(false));
+
+        this.pruneSupportArchives = project.getObjects().property(Boolean.class);
+        this.pruneSupportArchives.set(false);
+
+        this.recordJfr = project.getObjects().property(Boolean.class);
+        this.recordJfr.set(false);
+
+        this.jfrSettings = project.getObjects().property(String.class);
+        this.jfrSettings.set("profile");
+
+        this.binaryResults = project.getObjects().property(Boolean.class);
+        this.binaryResults.set(false);
+
+        this.classesDirectories = project.getObjects().property(Boolean.class);
+        this.classesDirectories.set(project.getProviders()
+                .gradleProperty(CLASSES_DIRECTORIES_PROPERTY)
+                .map(Boolean::parseBoolean)
+                .orElse(false));
+
+        this.relocationPrefixes = project.getObjects().listProperty(String.class);
+        this.relocationPrefixes.set(Collections.singletonList("shadow"));
+
+        this.includePackages = project.getObjects().listProperty(String.class);
+        this.excludePackages = project.getObjects().listProperty(String.class);
+
+        this.excludeAnnotations = project.getObjects().listProperty(String.class);
 
         this.oldGroupAndName = project.provider(() ->
                 GroupAndName.builder().group(oldGroup.get()).name(oldName.get()).build());
@@ -62,6 +120,100 @@ public class RevapiExtension {
         return oldVersions;
     }
 
+    /**
+     * How many of the {@link #getOldVersions() old versions} to compare against. The first old version that resolves
+     * is used for the report that fails the build, and the new API is additionally compared against the next ones
+     * that resolve, writing a results file per old version and a compatibility matrix to
+     * {@code build/revapi/baselines}. Must be at least 1.
+     */
+    public Property<Integer> getBaselines() {
+        return baselines;
+    }
+
+    /** How many old versions to compare against at the same time when there are several {@link #getBaselines()}. */
+    public Property<Integer> getMaxParallelBaselines() {
+        return maxParallelBaselines;
+    }
+
+    /**
+     * Stop {@code revapiAnalyze} at the first break that has not been accepted, and only compare against the first
+     * of the {@link #getBaselines()}, for a quick yes or no answer in pre-push hooks or IDEs. The results then only
+     * contain that one break, so {@code revapiAcceptAllBreaks} would only accept that one too. Defaults to the
+     * {@value #FAIL_FAST_PROPERTY} gradle property, so can be switched on for a single run with
+     * {@code -Prevapi.failFast=true}.
+     */
+    public Property<Boolean> getFailFast() {
+        return failFast;
+    }
+
+    /**
+     * Only give revapi the dependency jars that provide classes reachable from the API being checked, rather than the
+     * whole classpath. This can make analysis of projects with large classpaths much faster.
+     */
+    public Property<Boolean> getPruneSupportArchives() {
+        return pruneSupportArchives;
+    }
+
+    /**
+     * Record a Java Flight Recorder profile of {@code revapiAnalyze} to {@code build/revapi/revapi-analyze.jfr}. The
+     * task always reruns while this is enabled, and is never taken from the build cache, so that there is something to
+     * profile.
+     */
+    public Property<Boolean> getRecordJfr() {
+        return recordJfr;
+    }
+
+    /** The JFR settings to record with, either the name of a JDK settings file or the path to a {@code .jfc} file. */
+    public Property<String> getJfrSettings() {
+        return jfrSettings;
+    }
+
+    /**
+     * Also write the results of {@code revapiAnalyze} to {@code build/revapi/revapi-results.bin}, an indexed binary
+     * form that {@code revapiQuery} and {@code revapiAcceptAllBreaks} can read without parsing, see
+     * {@link ResultsStore}.
+     */
+    public Property<Boolean> getBinaryResults() {
+        return binaryResults;
+    }
+
+    /**
+     * Analyse the compiled classes directories of this project and the projects it depends on, rather than their
+     * jars, so that running revapi doesn't have to build any jars (or shadow jars). Breaks in classes that are only
+     * added to the published jar, for example by shading, are not caught, so this is meant for fast feedback locally
+     * and not for release builds. Defaults to the {@value #CLASSES_DIRECTORIES_PROPERTY} gradle property, so can be
+     * switched on for a single run with {@code -Prevapi.classesDirectories=true}.
+     */
+    public Property<Boolean> getClassesDirectories() {
+        return classesDirectories;
+    }
+
+    /**
+     * The packages that dependencies were relocated to when shading this project's jar. Classes under them are removed
+     * from the jars before revapi reads them, rather than being analysed and then ignored.
+     */
+    public ListProperty<String> getRelocationPrefixes() {
+        return relocationPrefixes;
+    }
+
+    /** If set, only classes in these packages (or their subpackages) are checked. */
+    public ListProperty<String> getIncludePackages() {
+        return includePackages;
+    }
+
+    /** Classes in these packages (or their subpackages) are not checked, eg {@code com.palantir.foo.internal}. */
+    public ListProperty<String> getExcludePackages() {
+        return excludePackages;
+    }
+
+    /**
+     * Classes annotated with these annotations, given by their class names, are not checked, nor are the classes nested
+     * in them. Scala classes are never checked, whatever this is set to.
+     */
+    public ListProperty<String> getExcludeAnnotations() {
+        return excludeAnnotations;
+    }
+
     public void setOldVersion(String oldVersionValue) {
         oldVersions.set(Collections.singletonList(oldVersionValue));
     }
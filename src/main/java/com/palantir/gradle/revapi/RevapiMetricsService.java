@@ -0,0 +1,251 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.gradle.api.Project;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.immutables.value.Value;
+
+/**
+ * Collects the {@link PhaseTimer} of every project in the build. When the build finishes, each project's phase
+ * metrics are written to {@code build/revapi/revapi-metrics.json}, and the metrics of all the projects along with
+ * per phase totals are written to {@code build/revapi/revapi-metrics-summary.json} in the root project. Setting the
+ * {@code revapi.trace} gradle property also writes a trace of all the revapi work in the build to
+ * {@code build/revapi/revapi-trace.json} in the root project. The summary also counts how many memoised providers
+ * were evaluated and git processes were run, as doing either during configuration slows down every build.
+ */
+public abstract class RevapiMetricsService
+        implements BuildService<RevapiMetricsService.Parameters>, AutoCloseable {
+    static final String TRACE_PROPERTY = "revapi.trace";
+
+    private static final ObjectMapper OBJECT_MAPPER =
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, ProjectTimer> timers = new ConcurrentHashMap<>();
+    private final AtomicLong providerEvaluations = new AtomicLong();
+    private final AtomicLong gitProcesses = new AtomicLong();
+    private final Optional<TraceRecorder> traceRecorder =
+            getParameters().getTraceEnabled().get() ? Optional.of(new TraceRecorder()) : Optional.empty();
+
+    public interface Parameters extends BuildServiceParameters {
+        RegularFileProperty getSummaryFile();
+
+        Property<Boolean> getTraceEnabled();
+
+        RegularFileProperty getTraceFile();
+    }
+
+    static Provider<RevapiMetricsService> register(Project project) {
+        File revapiBuildDir = new File(project.getRootProject().getBuildDir(), "revapi");
+        boolean traceEnabled = Optional.ofNullable(project.findProperty(TRACE_PROPERTY))
+                .map(Object::toString)
+                .map(Boolean::parseBoolean)
+                .orElse(false);
+
+        return project.getGradle()
+                .getSharedServices()
+                .registerIfAbsent("revapiMetrics", RevapiMetricsService.class, spec -> {
+                    spec.getParameters().getSummaryFile().set(new File(revapiBuildDir, "revapi-metrics-summary.json"));
+                    spec.getParameters().getTraceEnabled().set(traceEnabled);
+                    spec.getParameters().getTraceFile().set(new File(revapiBuildDir, "revapi-trace.json"));
+                });
+    }
+
+    /** Shortcut for getting the timer of {@code project} outside of a task. */
+    static PhaseTimer projectTimer(Project project) {
+        return register(project).get().timerFor(project);
+    }
+
+    /** Shortcut for timing a phase of {@code project} outside of a task. */
+    static PhaseTimer.Span start(Project project, RevapiPhase phase) {
+        return projectTimer(project).start(phase);
+    }
+
+    static void recordProviderEvaluation(Project project) {
+        register(project).get().providerEvaluations.incrementAndGet();
+    }
+
+    static void recordGitProcess(Project project) {
+        register(project).get().gitProcesses.incrementAndGet();
+    }
+
+    final PhaseTimer timerFor(Project project) {
+        File metricsFile = new File(project.getBuildDir(), "revapi/revapi-metrics.json");
+        return timers.computeIfAbsent(
+                        project.getPath(), projectPath -> new ProjectTimer(projectPath, metricsFile, traceRecorder))
+                .timer;
+    }
+
+    @Override
+    public final void close() {
+        writeMetrics();
+        traceRecorder.ifPresent(this::writeTrace);
+    }
+
+    private void writeMetrics() {
+        List<ProjectMetrics> projectMetrics = timers.entrySet().stream()
+                .map(entry -> ProjectMetrics.builder()
+                        .projectPath(entry.getKey())
+                        .phases(entry.getValue().timer.phaseMetrics())
+                        .build())
+                .filter(metrics -> !metrics.phases().isEmpty())
+                .sorted((first, second) -> first.projectPath().compareTo(second.projectPath()))
+                .collect(Collectors.toList());
+
+        if (projectMetrics.isEmpty() && providerEvaluations.get() == 0 && gitProcesses.get() == 0) {
+            return;
+        }
+
+        for (ProjectMetrics metrics : projectMetrics) {
+            write(timers.get(metrics.projectPath()).metricsFile, metrics);
+        }
+
+        write(
+                getParameters().getSummaryFile().getAsFile().get(),
+                BuildMetrics.builder()
+                        .totals(totals(projectMetrics))
+                        .projects(projectMetrics)
+                        .providerEvaluations(providerEvaluations.get())
+                        .gitProcesses(gitProcesses.get())
+                        .build());
+    }
+
+    private static List<PhaseMetrics> totals(List<ProjectMetrics> projectMetrics) {
+        return Arrays.stream(RevapiPhase.values())
+                .map(phase -> projectMetrics.stream()
+                        .flatMap(metrics -> metrics.phases().stream())
+                        .filter(phaseMetrics -> phaseMetrics.phase() == phase)
+                        .reduce(PhaseMetrics::plus))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toList());
+    }
+
+    private void writeTrace(TraceRecorder recorder) {
+        File traceFile = getParameters().getTraceFile().getAsFile().get();
+        try {
+            recorder.write(traceFile);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write revapi trace to " + traceFile, e);
+        }
+    }
+
+    private static void write(File file, Object value) {
+        file.getParentFile().mkdirs();
+        try {
+            OBJECT_MAPPER.writeValue(file, value);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write revapi metrics to " + file, e);
+        }
+    }
+
+    private static final class ProjectTimer {
+        private final File metricsFile;
+        private final PhaseTimer timer;
+
+        ProjectTimer(String projectPath, File metricsFile, Optional<TraceRecorder> traceRecorder) {
+            this.metricsFile = Objects.requireNonNull(metricsFile);
+            this.timer = new PhaseTimer(projectPath, traceRecorder);
+        }
+    }
+
+    @Value.Immutable
+    @ImmutableStyle
+    @JsonSerialize(as = ImmutablePhaseMetrics.class)
+    @JsonDeserialize(as = ImmutablePhaseMetrics.class)
+    interface PhaseMetrics {
+        RevapiPhase phase();
+
+        long count();
+
+        long wallNanos();
+
+        long cpuNanos();
+
+        long allocatedBytes();
+
+        default PhaseMetrics plus(PhaseMetrics other) {
+            return builder()
+                    .phase(phase())
+                    .count(count() + other.count())
+                    .wallNanos(wallNanos() + other.wallNanos())
+                    .cpuNanos(cpuNanos() + other.cpuNanos())
+                    .allocatedBytes(allocatedBytes() + other.allocatedBytes())
+                    .build();
+        }
+
+        class Builder extends ImmutablePhaseMetrics.Builder {}
+
+        static Builder builder() {
+            return new Builder();
+        }
+    }
+
+    @Value.Immutable
+    @ImmutableStyle
+    @JsonSerialize(as = ImmutableProjectMetrics.class)
+    @JsonDeserialize(as = ImmutableProjectMetrics.class)
+    interface ProjectMetrics {
+        String projectPath();
+
+        List<PhaseMetrics> phases();
+
+        class Builder extends ImmutableProjectMetrics.Builder {}
+
+        static Builder builder() {
+            return new Builder();
+        }
+    }
+
+    @Value.Immutable
+    @ImmutableStyle
+    @JsonSerialize(as = ImmutableBuildMetrics.class)
+    @JsonDeserialize(as = ImmutableBuildMetrics.class)
+    interface BuildMetrics {
+        List<PhaseMetrics> totals();
+
+        List<ProjectMetrics> projects();
+
+        long providerEvaluations();
+
+        long gitProcesses();
+
+        class Builder extends ImmutableBuildMetrics.Builder {}
+
+        static Builder builder() {
+            return new Builder();
+        }
+    }
+}
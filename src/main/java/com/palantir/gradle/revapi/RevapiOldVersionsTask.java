@@ -0,0 +1,54 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.palantir.gradle.revapi.config.GroupNameVersion;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Adds the old versions this project will compare against to the {@link OldApiBatchResolverService}, so that
+ * {@link RevapiResolveOldApisTask} resolves them along with those of every other project. Working out the old versions
+ * reads the git tags and config of this project, so it is done by a task of this project.
+ */
+public class RevapiOldVersionsTask extends DefaultTask {
+    public static final String TASK_NAME = "revapiOldVersions";
+
+    private final ListProperty<GroupNameVersion> oldVersions =
+            getProject().getObjects().listProperty(GroupNameVersion.class);
+    private final Property<OldApiBatchResolverService> batchResolver =
+            getProject().getObjects().property(OldApiBatchResolverService.class);
+
+    @Input
+    public final ListProperty<GroupNameVersion> getOldVersions() {
+        return oldVersions;
+    }
+
+    @Internal
+    final Property<OldApiBatchResolverService> getBatchResolver() {
+        return batchResolver;
+    }
+
+    @TaskAction
+    public final void addOldVersions() {
+        batchResolver.get().addRequests(oldVersions.get());
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+/** The parts of running revapi on a project that are timed separately by {@link PhaseTimer}. */
+enum RevapiPhase {
+    /** Walking the git history to find the previous release tags. */
+    GIT_TAGS,
+    /** Resolving the previously published jar and its dependencies. */
+    RESOLVE_OLD_API,
+    /** Reading the jars that make up the old and new APIs. */
+    LOAD_ARCHIVES,
+    /** Revapi's own analysis of the APIs, excluding the wall time spent in our transforms. */
+    ANALYZE,
+    /** Our {@link org.revapi.DifferenceTransform}s. Only wall time is recorded, see {@link PhaseTimer}. */
+    TRANSFORMS,
+    /** Turning the analysis results into a report and failing the build if there are breaks. */
+    REPORT
+}
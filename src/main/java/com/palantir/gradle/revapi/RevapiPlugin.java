@@ -19,21 +19,27 @@ package com.palantir.gradle.revapi;
 import com.palantir.gradle.revapi.ResolveOldApi.OldApi;
 import com.palantir.gradle.revapi.config.AcceptedBreak;
 import com.palantir.gradle.revapi.config.GroupAndName;
+import com.palantir.gradle.revapi.config.GroupNameVersion;
 import java.io.File;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.component.ProjectComponentIdentifier;
 import org.gradle.api.artifacts.result.ComponentResult;
+import org.gradle.api.attributes.LibraryElements;
 import org.gradle.api.attributes.Usage;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.plugins.JavaPlugin;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.specs.Spec;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
 import org.gradle.api.tasks.TaskProvider;
 import org.gradle.api.tasks.bundling.Jar;
 import org.gradle.language.base.plugins.LifecycleBasePlugin;
@@ -42,6 +48,7 @@ public final class RevapiPlugin implements Plugin<Project> {
     public static final String VERSION_OVERRIDE_TASK_NAME = "revapiVersionOverride";
     public static final String ACCEPT_BREAK_TASK_NAME = "revapiAcceptBreak";
     public static final String ACCEPT_ALL_BREAKS_TASK_NAME = "revapiAcceptAllBreaks";
+    public static final String MIGRATE_CONFIG_TO_SHARDS_TASK_NAME = "revapiMigrateConfigToShards";
 
     @Override
     public void apply(Project project) {
@@ -50,20 +57,37 @@ public final class RevapiPlugin implements Plugin<Project> {
 
         RevapiExtension extension = project.getExtensions().create("revapi", RevapiExtension.class, project);
 
-        ConfigManager configManager = new ConfigManager(configFile(project));
+        ConfigManager configManager = ConfigManager.withParsedConfigCache(
+                        configFile(project), parsedConfigCacheDirectory(project))
+                .withPhaseTimer(() -> RevapiMetricsService.projectTimer(project));
 
-        Provider<Optional<OldApi>> maybeOldApi = ResolveOldApi.oldApiProvider(project, extension, configManager);
-        Spec<Task> oldApiIsPresent = _task -> maybeOldApi.get().isPresent();
+        Provider<List<GroupNameVersion>> oldVersions =
+                ResolveOldApi.oldVersionsProvider(project, extension, configManager);
+        Optional<Provider<OldApiBatchResolverService>> batchResolver =
+                OldApiBatchResolverService.registerIfEnabled(project);
+        Provider<List<OldApi>> resolvedOldApis =
+                ResolveOldApi.oldApisProvider(project, extension, oldVersions, batchResolver);
+        // When batching, derive the old APIs from the batch task so that gradle runs it before anything needs them,
+        // rather than resolving them one at a time while working out the task graph
+        Provider<List<OldApi>> oldApis = batchResolver
+                .map(resolver -> resolveOldApisTask(project, extension, oldVersions, resolver)
+                        .map(_task -> resolvedOldApis.get()))
+                .orElse(resolvedOldApis);
+        Provider<ArchiveMetadataCacheService> archiveMetadataCache = ArchiveMetadataCacheService.register(project);
+        Provider<RevapiMetricsService> metrics = RevapiMetricsService.register(project);
+        Provider<RevapiEngineService> revapiEngines = RevapiEngineService.register(project);
+        Spec<Task> oldApiIsPresent = _task -> !oldApis.get().isEmpty();
 
         TaskProvider<RevapiAnalyzeTask> analyzeTask = project.getTasks()
                 .register("revapiAnalyze", RevapiAnalyzeTask.class, task -> {
                     // Creating a new configuration instead of using compileClasspath in order to ensure that we
                     // resolve jars and not classes directories (which is the default unless you set the LibraryElements
-                    // attribute)
+                    // attribute), unless classes directories have been asked for
                     Configuration revapiNewApi = project.getConfigurations().create("revapiNewApi", conf -> {
                         conf.extendsFrom(
                                 project.getConfigurations().getByName(JavaPlugin.COMPILE_CLASSPATH_CONFIGURATION_NAME));
                         configureApiUsage(project, conf);
+                        configureLibraryElements(project, extension, conf);
                         conf.setCanBeConsumed(false);
                         conf.setVisible(false);
                     });
@@ -73,6 +97,7 @@ public final class RevapiPlugin implements Plugin<Project> {
                                 conf.extendsFrom(project.getConfigurations()
                                         .getByName(JavaPlugin.API_ELEMENTS_CONFIGURATION_NAME));
                                 configureApiUsage(project, conf);
+                                configureLibraryElements(project, extension, conf);
                                 conf.setCanBeConsumed(false);
                                 conf.setVisible(false);
                             });
@@ -86,6 +111,14 @@ public final class RevapiPlugin implements Plugin<Project> {
                             .getOutgoing()
                             .getArtifacts()
                             .getFiles();
+                    FileCollection thisClassesDirs = project.getExtensions()
+                            .getByType(SourceSetContainer.class)
+                            .getByName(SourceSet.MAIN_SOURCE_SET_NAME)
+                            .getOutput()
+                            .getClassesDirs();
+                    FileCollection thisApi = project.files(extension
+                            .getClassesDirectories()
+                            .map(classesDirectories -> classesDirectories ? thisClassesDirs : thisJarFile));
 
                     FileCollection otherProjectsOutputs = revapiNewApiElements
                             .getIncoming()
@@ -93,20 +126,50 @@ public final class RevapiPlugin implements Plugin<Project> {
                             .getFiles();
 
                     // Note: this should propagate the dependency on the necessary tasks to build the other projects
-                    task.getNewApiJars().set(thisJarFile.plus(otherProjectsOutputs));
+                    task.getNewApiJars().set(thisApi.plus(otherProjectsOutputs));
                     task.getNewApiDependencyJars()
                             .set(revapiNewApi.minus(task.getNewApiJars().get()));
                     task.getJarsToReportBreaks()
                             .set(project.provider(
-                                    () -> thisJarFile.plus(task.getOldApiJars().get())));
-                    task.getOldApiJars()
-                            .set(maybeOldApi.map(oldApi ->
-                                    oldApi.map(OldApi::jars).map(project::files).orElseGet(project::files)));
-                    task.getOldApiDependencyJars().set(maybeOldApi.map(oldApi -> oldApi.map(OldApi::dependencyJars)
-                            .map(project::files)
-                            .orElseGet(project::files)));
+                                    () -> thisApi.plus(task.getOldApiJars().get())));
+                    task.getOldApiJars().set(oldApis.map(apis -> apis.isEmpty()
+                            ? project.files()
+                            : project.files(apis.get(0).jars())));
+                    task.getOldApiDependencyJars().set(oldApis.map(apis -> apis.isEmpty()
+                            ? project.files()
+                            : project.files(apis.get(0).dependencyJars())));
+                    task.getBaselines().set(oldApis);
+                    task.getOlderBaselineJars().set(oldApis.map(apis -> project.files(apis.stream()
+                            .skip(1)
+                            .flatMap(api -> Stream.concat(api.jars().stream(), api.dependencyJars().stream()))
+                            .collect(Collectors.toList()))));
+                    task.getMaxParallelBaselines().set(extension.getMaxParallelBaselines());
 
                     task.getAnalysisResultsFile().set(new File(project.getBuildDir(), "revapi/revapi-results.json"));
+                    task.getBinaryResults().set(extension.getBinaryResults());
+                    task.getBinaryResultsFile().set(new File(project.getBuildDir(), "revapi/revapi-results.bin"));
+                    task.getBaselinesDirectory().set(new File(project.getBuildDir(), "revapi/baselines"));
+                    task.getTransformMetricsFile()
+                            .set(new File(project.getBuildDir(), "revapi/revapi-transform-metrics.json"));
+                    task.getRelocationPrefixes().set(extension.getRelocationPrefixes());
+                    task.getIncludePackages().set(extension.getIncludePackages());
+                    task.getExcludePackages().set(extension.getExcludePackages());
+                    task.getExcludeAnnotations().set(extension.getExcludeAnnotations());
+                    task.getFailFast().set(extension.getFailFast());
+                    task.getClassesDirectories().set(extension.getClassesDirectories());
+                    task.getPruneSupportArchives().set(extension.getPruneSupportArchives());
+                    task.getRecordJfr().set(extension.getRecordJfr());
+                    task.getJfrSettings().set(extension.getJfrSettings());
+                    task.getJfrFile().set(new File(project.getBuildDir(), "revapi/revapi-analyze.jfr"));
+                    task.getOutputs().upToDateWhen(_task -> !task.getRecordJfr().get());
+                    task.getOutputs()
+                            .doNotCacheIf("recording JFR", _task -> task.getRecordJfr().get());
+                    task.getArchiveMetadataCache().set(archiveMetadataCache);
+                    task.usesService(archiveMetadataCache);
+                    task.getMetrics().set(metrics);
+                    task.usesService(metrics);
+                    task.getRevapiEngines().set(revapiEngines);
+                    task.usesService(revapiEngines);
 
                     task.onlyIf(oldApiIsPresent);
                 });
@@ -116,28 +179,45 @@ public final class RevapiPlugin implements Plugin<Project> {
                     task.dependsOn(analyzeTask);
                     task.getAnalysisResultsFile().set(analyzeTask.flatMap(RevapiAnalyzeTask::getAnalysisResultsFile));
                     task.getJunitOutputFile().set(junitOutput(project));
+                    task.getMetrics().set(metrics);
+                    task.usesService(metrics);
 
                     task.onlyIf(oldApiIsPresent);
                 });
 
         project.getTasks().findByName(LifecycleBasePlugin.CHECK_TASK_NAME).dependsOn(reportTask);
 
+        RevapiAggregateTask.registerOnce(project).configure(task -> task.addProject(
+                project.getPath(), analyzeTask.flatMap(RevapiAnalyzeTask::getAnalysisResultsFile)));
+        RevapiQueryTask.registerOnce(project).configure(task -> task.addProject(
+                project.getPath(), analyzeTask.flatMap(RevapiAnalyzeTask::getBinaryResultsFile)));
+
         project.getTasks().register(ACCEPT_ALL_BREAKS_TASK_NAME, RevapiAcceptAllBreaksTask.class, task -> {
             task.dependsOn(analyzeTask);
 
             task.getOldGroupNameVersion().set(project.getProviders().provider(extension::oldGroupNameVersion));
             task.getConfigManager().set(configManager);
             task.getAnalysisResultsFile().set(analyzeTask.flatMap(RevapiAnalyzeTask::getAnalysisResultsFile));
+            task.getBinaryResultsFile().set(analyzeTask.flatMap(RevapiAnalyzeTask::getBinaryResultsFile));
+            task.usesService(metrics);
             task.onlyIf(oldApiIsPresent);
         });
 
         project.getTasks().register(VERSION_OVERRIDE_TASK_NAME, RevapiVersionOverrideTask.class, task -> {
             task.getConfigManager().set(configManager);
+            task.usesService(metrics);
         });
 
         project.getTasks().register(ACCEPT_BREAK_TASK_NAME, RevapiAcceptBreakTask.class, task -> {
             task.getConfigManager().set(configManager);
+            task.usesService(metrics);
         });
+
+        project.getTasks()
+                .register(MIGRATE_CONFIG_TO_SHARDS_TASK_NAME, RevapiMigrateConfigToShardsTask.class, task -> {
+                    task.getConfigManager().set(configManager);
+                    task.usesService(metrics);
+                });
     }
 
     /** In order to ensure we resolve the right variants with usage {@link Usage.JAVA_API}. */
@@ -146,12 +226,24 @@ public final class RevapiPlugin implements Plugin<Project> {
                 attrs.attribute(Usage.USAGE_ATTRIBUTE, project.getObjects().named(Usage.class, Usage.JAVA_API)));
     }
 
+    /** Resolve the jars of other projects, or their classes directories if {@link RevapiExtension} asks for them. */
+    private static void configureLibraryElements(Project project, RevapiExtension extension, Configuration conf) {
+        conf.attributes(attrs -> attrs.attributeProvider(
+                LibraryElements.LIBRARY_ELEMENTS_ATTRIBUTE,
+                extension.getClassesDirectories().map(classesDirectories -> project.getObjects()
+                        .named(
+                                LibraryElements.class,
+                                classesDirectories ? LibraryElements.CLASSES : LibraryElements.JAR))));
+    }
+
     private Provider<Set<AcceptedBreak>> acceptedBreaks(
             Project project, ConfigManager configManager, Provider<GroupAndName> oldGroupAndNameProvider) {
 
         return GradleUtils.memoisedProvider(
                 project,
-                () -> configManager.fromFileOrEmptyIfDoesNotExist().acceptedBreaksFor(oldGroupAndNameProvider.get()));
+                () -> configManager
+                        .configFor(oldGroupAndNameProvider.get())
+                        .acceptedBreaksFor(oldGroupAndNameProvider.get()));
     }
 
     // visible for testing
@@ -177,6 +269,31 @@ public final class RevapiPlugin implements Plugin<Project> {
         return new File(project.getRootDir(), ".palantir/revapi.yml");
     }
 
+    private static TaskProvider<RevapiResolveOldApisTask> resolveOldApisTask(
+            Project project,
+            RevapiExtension extension,
+            Provider<List<GroupNameVersion>> oldVersions,
+            Provider<OldApiBatchResolverService> batchResolver) {
+
+        TaskProvider<RevapiOldVersionsTask> oldVersionsTask = project.getTasks()
+                .register(RevapiOldVersionsTask.TASK_NAME, RevapiOldVersionsTask.class, task -> {
+                    task.getOldVersions().set(oldVersions.map(versions -> versions.stream()
+                            .limit(extension.getBaselines().get())
+                            .collect(Collectors.toList())));
+                    task.getBatchResolver().set(batchResolver);
+                    task.usesService(batchResolver);
+                });
+
+        TaskProvider<RevapiResolveOldApisTask> resolveOldApisTask =
+                RevapiResolveOldApisTask.registerOnce(project, batchResolver);
+        resolveOldApisTask.configure(task -> task.addProject(oldVersionsTask));
+        return resolveOldApisTask;
+    }
+
+    private static File parsedConfigCacheDirectory(Project project) {
+        return new File(project.getRootProject().getBuildDir(), "revapi/config-cache");
+    }
+
     private File junitOutput(Project project) {
         Optional<String> circleReportsDir = Optional.ofNullable(System.getenv("CIRCLE_TEST_REPORTS"));
         File reportsDir = circleReportsDir.map(File::new).orElseGet(project::getBuildDir);
@@ -0,0 +1,116 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.Project;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.TaskProvider;
+import org.gradle.api.tasks.options.Option;
+
+/**
+ * Prints the differences found by the last run of {@code revapiAnalyze} in every project, optionally only those with a
+ * given code or affecting elements whose signatures contain a string. Reads the {@link ResultsStore} that
+ * {@code revapiAnalyze} writes when {@link RevapiExtension#getBinaryResults()} is set, and does not run analysis.
+ */
+public class RevapiQueryTask extends DefaultTask {
+    public static final String TASK_NAME = "revapiQuery";
+    public static final String CODE = "code";
+    public static final String ELEMENT = "element";
+
+    private final MapProperty<String, RegularFile> projectResultsFiles =
+            getProject().getObjects().mapProperty(String.class, RegularFile.class);
+    private final Property<String> code = getProject().getObjects().property(String.class);
+    private final Property<String> element = getProject().getObjects().property(String.class);
+
+    public RevapiQueryTask() {
+        getOutputs().upToDateWhen(_ignored -> false);
+    }
+
+    /** Registers the task in the root project the first time any project applies the plugin. */
+    static TaskProvider<RevapiQueryTask> registerOnce(Project project) {
+        Project rootProject = project.getRootProject();
+        if (rootProject.getTasks().getNames().contains(TASK_NAME)) {
+            return rootProject.getTasks().named(TASK_NAME, RevapiQueryTask.class);
+        }
+        return rootProject.getTasks().register(TASK_NAME, RevapiQueryTask.class);
+    }
+
+    /** Adds the binary results file of the project at {@code projectPath}, which is skipped if it does not exist. */
+    final void addProject(String projectPath, Provider<RegularFile> binaryResultsFile) {
+        projectResultsFiles.put(projectPath, binaryResultsFile);
+    }
+
+    @Internal
+    final MapProperty<String, RegularFile> getProjectResultsFiles() {
+        return projectResultsFiles;
+    }
+
+    @Option(option = CODE, description = "Only show differences with this revapi code, eg java.method.removed")
+    public final void setCode(String codeString) {
+        this.code.set(codeString);
+    }
+
+    @Option(option = ELEMENT, description = "Only show differences to elements whose signatures contain this")
+    public final void setElement(String elementString) {
+        this.element.set(elementString);
+    }
+
+    @TaskAction
+    public final void query() throws IOException {
+        int projectsQueried = 0;
+        int matches = 0;
+        for (Map.Entry<String, RegularFile> entry : new TreeMap<>(projectResultsFiles.get()).entrySet()) {
+            File binaryResultsFile = entry.getValue().getAsFile();
+            if (!binaryResultsFile.isFile()) {
+                continue;
+            }
+
+            projectsQueried++;
+            List<AnalysisResult> results = ResultsStore.open(binaryResultsFile)
+                    .query(Optional.ofNullable(code.getOrNull()), Optional.ofNullable(element.getOrNull()));
+            for (AnalysisResult result : results) {
+                getLogger()
+                        .lifecycle(
+                                "{}: {} {} -> {}",
+                                entry.getKey(),
+                                result.code(),
+                                result.oldElement(),
+                                result.newElement());
+            }
+            matches += results.size();
+        }
+
+        if (projectsQueried == 0) {
+            throw new RuntimeException("No project has binary revapi results to query. Set "
+                    + "'revapi { binaryResults = true }' and run revapiAnalyze first.");
+        }
+
+        getLogger().lifecycle("Found {} matching differences in {} projects", matches, projectsQueried);
+    }
+}
@@ -16,19 +16,11 @@
 
 package com.palantir.gradle.revapi;
 
-import com.palantir.gradle.revapi.config.Justification;
-import freemarker.cache.ClassTemplateLoader;
-import freemarker.template.Configuration;
-import freemarker.template.DefaultObjectWrapperBuilder;
-import freemarker.template.Template;
-import java.io.StringWriter;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.util.HashMap;
-import java.util.Map;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
 
@@ -37,6 +29,8 @@ public class RevapiReportTask extends DefaultTask {
             getProject().getObjects().fileProperty();
     private final RegularFileProperty junitOutputFile =
             getProject().getObjects().fileProperty();
+    private final Property<RevapiMetricsService> metrics =
+            getProject().getObjects().property(RevapiMetricsService.class);
 
     @InputFile
     public final RegularFileProperty getAnalysisResultsFile() {
@@ -48,55 +42,39 @@ public class RevapiReportTask extends DefaultTask {
         return junitOutputFile;
     }
 
+    @Internal
+    final Property<RevapiMetricsService> getMetrics() {
+        return metrics;
+    }
+
     @TaskAction
+    @SuppressWarnings("try")
     public final void reportBreaks() throws Exception {
+        try (PhaseTimer.Span _span = metrics.get().timerFor(getProject()).start(RevapiPhase.REPORT)) {
+            reportBreaksTimed();
+        }
+    }
+
+    private void reportBreaksTimed() throws Exception {
         AnalysisResults results =
                 AnalysisResults.fromFile(analysisResultsFile.getAsFile().get());
 
-        Configuration freeMarkerConfiguration = createFreeMarkerConfiguration();
-        Map<String, Object> templateData = new HashMap<>();
-        templateData.put("results", results);
-        templateData.put(
-                "acceptBreakTask",
+        String textOutput = BreaksReport.write(
+                results,
+                junitOutputFile.getAsFile().get(),
                 getProject()
                         .getTasks()
                         .withType(RevapiAcceptBreakTask.class)
                         .getByName(RevapiPlugin.ACCEPT_BREAK_TASK_NAME)
-                        .getPath());
-        templateData.put(
-                "acceptAllBreaksProjectTask",
+                        .getPath(),
                 getProject()
                         .getTasks()
                         .withType(RevapiAcceptAllBreaksTask.class)
                         .getByName(RevapiPlugin.ACCEPT_ALL_BREAKS_TASK_NAME)
                         .getPath());
-        templateData.put("acceptAllBreaksEverywhereTask", RevapiPlugin.ACCEPT_ALL_BREAKS_TASK_NAME);
-        templateData.put("explainWhy", Justification.YOU_MUST_ENTER_JUSTIFICATION);
-
-        Template junitTemplate = freeMarkerConfiguration.getTemplate("gradle-revapi-junit-template.ftl");
-        junitTemplate.process(
-                templateData,
-                Files.newBufferedWriter(junitOutputFile.getAsFile().get().toPath(), StandardCharsets.UTF_8));
-
-        Template textTemplate = freeMarkerConfiguration.getTemplate("gradle-revapi-text-template.ftl");
-        StringWriter textOutputWriter = new StringWriter();
-        textTemplate.process(templateData, textOutputWriter);
-
-        String textOutput = textOutputWriter.toString();
 
         if (!textOutput.trim().isEmpty()) {
             throw new RuntimeException("There were Java public API/ABI breaks reported by revapi:\n\n" + textOutput);
         }
     }
-
-    private Configuration createFreeMarkerConfiguration() {
-        DefaultObjectWrapperBuilder objectWrapper = new DefaultObjectWrapperBuilder(Configuration.VERSION_2_3_23);
-        Configuration freeMarker = new Configuration(Configuration.VERSION_2_3_23);
-
-        freeMarker.setObjectWrapper(objectWrapper.build());
-        freeMarker.setAPIBuiltinEnabled(true);
-        freeMarker.setTemplateLoader(new ClassTemplateLoader(getClass(), "/META-INF"));
-
-        return freeMarker;
-    }
 }
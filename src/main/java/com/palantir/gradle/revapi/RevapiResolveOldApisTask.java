@@ -0,0 +1,67 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.Project;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.TaskProvider;
+
+/**
+ * Resolves the old versions that the {@link RevapiOldVersionsTask} of every project added to the
+ * {@link OldApiBatchResolverService} in one batch. This is a task of the root project so that the batch, which is a
+ * configuration of the root project, is resolved in the root project rather than by whichever project asks for its
+ * old API first.
+ */
+public class RevapiResolveOldApisTask extends DefaultTask {
+    public static final String TASK_NAME = "revapiResolveOldApis";
+
+    private final Property<OldApiBatchResolverService> batchResolver =
+            getProject().getObjects().property(OldApiBatchResolverService.class);
+
+    /** Registers the task in the root project the first time any project applies the plugin. */
+    static TaskProvider<RevapiResolveOldApisTask> registerOnce(
+            Project project, Provider<OldApiBatchResolverService> batchResolver) {
+        Project rootProject = project.getRootProject();
+        if (rootProject.getTasks().getNames().contains(TASK_NAME)) {
+            return rootProject.getTasks().named(TASK_NAME, RevapiResolveOldApisTask.class);
+        }
+
+        return rootProject.getTasks().register(TASK_NAME, RevapiResolveOldApisTask.class, task -> {
+            task.getBatchResolver().set(batchResolver);
+            task.usesService(batchResolver);
+        });
+    }
+
+    /** Makes sure the old versions of a project have been added before the batch is resolved. */
+    final void addProject(TaskProvider<RevapiOldVersionsTask> oldVersionsTask) {
+        dependsOn(oldVersionsTask);
+    }
+
+    @Internal
+    final Property<OldApiBatchResolverService> getBatchResolver() {
+        return batchResolver;
+    }
+
+    @TaskAction
+    public final void resolveOldApis() {
+        batchResolver.get().resolveBatch(getProject());
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Works out which support archives revapi actually needs. Starting from everything the API archives expose, it follows
+ * the API of every referenced class found in the support archives, and keeps only the support archives that provide
+ * at least one of the classes it reached. Classes that are in no archive (eg JDK classes) are ignored.
+ */
+final class SupportArchivePruner {
+    private SupportArchivePruner() {}
+
+    static List<File> reachableSupportArchives(
+            List<File> archives, List<File> supportArchives, Function<File, ArchiveMetadata> metadataFor) {
+
+        Map<String, File> supportArchiveProvidingClass = new HashMap<>();
+        // Like a classpath, the first archive containing a class wins
+        for (File supportArchive : supportArchives) {
+            for (String className : metadataFor.apply(supportArchive).classNames()) {
+                supportArchiveProvidingClass.putIfAbsent(className, supportArchive);
+            }
+        }
+
+        Set<String> visited = new HashSet<>();
+        Deque<String> toVisit = new ArrayDeque<>();
+        for (File archive : archives) {
+            Map<String, Set<String>> apiReferencesByClass = metadataFor.apply(archive).apiReferencesByClass();
+            visited.addAll(apiReferencesByClass.keySet());
+            apiReferencesByClass.values().forEach(toVisit::addAll);
+        }
+
+        Set<File> reachable = new HashSet<>();
+        while (!toVisit.isEmpty()) {
+            String className = toVisit.pop();
+            File supportArchive = supportArchiveProvidingClass.get(className);
+            if (!visited.add(className) || supportArchive == null) {
+                continue;
+            }
+
+            reachable.add(supportArchive);
+            toVisit.addAll(metadataFor
+                    .apply(supportArchive)
+                    .apiReferencesByClass()
+                    .getOrDefault(className, Collections.emptySet()));
+        }
+
+        return supportArchives.stream().filter(reachable::contains).collect(Collectors.toList());
+    }
+}
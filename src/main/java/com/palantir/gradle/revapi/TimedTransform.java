@@ -0,0 +1,76 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import java.io.Reader;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.revapi.AnalysisContext;
+import org.revapi.Difference;
+import org.revapi.DifferenceTransform;
+import org.revapi.Element;
+
+/**
+ * A transform whose every call is timed as part of the {@link RevapiPhase#TRANSFORMS} phase and recorded in the
+ * {@link TransformMetrics} of the analysis. The duration recorded for each difference is the one measured by the
+ * phase's span, so each call is only timed once.
+ */
+abstract class TimedTransform<E extends Element> implements DifferenceTransform<E> {
+    private PhaseTimer phaseTimer;
+    private TransformMetrics transformMetrics;
+
+    @Override
+    public final void initialize(@Nonnull AnalysisContext analysisContext) {
+        this.phaseTimer = PhaseTimer.fromContext(analysisContext);
+        this.transformMetrics = TransformMetrics.fromContext(analysisContext);
+        doInitialize(analysisContext);
+    }
+
+    protected abstract void doInitialize(AnalysisContext analysisContext);
+
+    @Nullable
+    @Override
+    public final Difference transform(@Nullable E oldElement, @Nullable E newElement, @Nonnull Difference difference) {
+        PhaseTimer.Span span = phaseTimer.start(RevapiPhase.TRANSFORMS);
+        Difference transformed;
+        try {
+            transformed = doTransform(oldElement, newElement, difference);
+        } finally {
+            span.close();
+        }
+        transformMetrics.recordTransform(getExtensionId(), difference, transformed, span.wallNanos());
+        return transformed;
+    }
+
+    /** Returns the difference to report, or null to drop it. */
+    @Nullable
+    protected abstract Difference doTransform(
+            @Nullable E oldElement, @Nullable E newElement, @Nonnull Difference difference);
+
+    protected final TransformMetrics transformMetrics() {
+        return transformMetrics;
+    }
+
+    @Nullable
+    @Override
+    public final Reader getJSONSchema() {
+        return null;
+    }
+
+    @Override
+    public final void close() {}
+}
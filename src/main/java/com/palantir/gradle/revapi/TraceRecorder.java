@@ -0,0 +1,171 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records spans of revapi work from every project in the build, and writes them out in Chrome's trace event format
+ * so they can be opened in {@code chrome://tracing} or Perfetto. Each span is tagged with the project it belongs to,
+ * and is shown on the row of the thread that ran it.
+ */
+final class TraceRecorder {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int PROCESS_ID = 1;
+
+    private final long originNanos = System.nanoTime();
+    private final Queue<Event> events = new ConcurrentLinkedQueue<>();
+
+    public Span span(String name, String projectPath, Map<String, String> args) {
+        return new Span(this, name, projectPath, args);
+    }
+
+    public void write(File traceFile) throws IOException {
+        traceFile.getParentFile().mkdirs();
+
+        SortedMap<Long, String> threadNames = new TreeMap<>();
+        events.forEach(event -> threadNames.put(event.threadId, event.threadName));
+
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(traceFile, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeStringField("displayTimeUnit", "ms");
+            json.writeArrayFieldStart("traceEvents");
+
+            writeMetadata(json, "process_name", 0, "gradle");
+            for (Map.Entry<Long, String> threadName : threadNames.entrySet()) {
+                writeMetadata(json, "thread_name", threadName.getKey(), threadName.getValue());
+            }
+
+            for (Event event : events) {
+                json.writeStartObject();
+                json.writeStringField("name", event.name);
+                json.writeStringField("cat", "revapi");
+                json.writeStringField("ph", "X");
+                json.writeNumberField("ts", event.startMicros);
+                json.writeNumberField("dur", event.durationMicros);
+                json.writeNumberField("pid", PROCESS_ID);
+                json.writeNumberField("tid", event.threadId);
+                json.writeObjectFieldStart("args");
+                json.writeStringField("project", event.projectPath);
+                json.writeStringField("thread", event.threadName);
+                for (Map.Entry<String, String> arg : event.args.entrySet()) {
+                    json.writeStringField(arg.getKey(), arg.getValue());
+                }
+                json.writeEndObject();
+                json.writeEndObject();
+            }
+
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    private static void writeMetadata(JsonGenerator json, String name, long threadId, String value)
+            throws IOException {
+        json.writeStartObject();
+        json.writeStringField("name", name);
+        json.writeStringField("ph", "M");
+        json.writeNumberField("pid", PROCESS_ID);
+        json.writeNumberField("tid", threadId);
+        json.writeObjectFieldStart("args");
+        json.writeStringField("name", value);
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    private long nowMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - originNanos);
+    }
+
+    static final class Span implements AutoCloseable {
+        private static final Span NO_OP = new Span(null, "", "", ImmutableMap.of());
+
+        private final TraceRecorder recorder;
+        private final String name;
+        private final String projectPath;
+        private final Map<String, String> args;
+        private final long startMicros;
+
+        private Span(TraceRecorder recorder, String name, String projectPath, Map<String, String> args) {
+            this.recorder = recorder;
+            this.name = name;
+            this.projectPath = projectPath;
+            this.args = args;
+            this.startMicros = recorder == null ? 0 : recorder.nowMicros();
+        }
+
+        /** A span that records nothing, for when tracing is not enabled. */
+        static Span noOp() {
+            return NO_OP;
+        }
+
+        @Override
+        public void close() {
+            if (recorder == null) {
+                return;
+            }
+
+            Thread thread = Thread.currentThread();
+            recorder.events.add(new Event(
+                    name,
+                    projectPath,
+                    args,
+                    thread.getId(),
+                    thread.getName(),
+                    startMicros,
+                    recorder.nowMicros() - startMicros));
+        }
+    }
+
+    private static final class Event {
+        private final String name;
+        private final String projectPath;
+        private final Map<String, String> args;
+        private final long threadId;
+        private final String threadName;
+        private final long startMicros;
+        private final long durationMicros;
+
+        Event(
+                String name,
+                String projectPath,
+                Map<String, String> args,
+                long threadId,
+                String threadName,
+                long startMicros,
+                long durationMicros) {
+            this.name = name;
+            this.projectPath = projectPath;
+            this.args = args;
+            this.threadId = threadId;
+            this.threadName = threadName;
+            this.startMicros = startMicros;
+            this.durationMicros = durationMicros;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.palantir.gradle.revapi.config.AcceptedBreak;
+import com.palantir.gradle.revapi.config.GradleRevapiConfig;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.immutables.value.Value;
+import org.revapi.AnalysisContext;
+import org.revapi.Difference;
+
+/**
+ * Counts how many differences each of our {@link org.revapi.DifferenceTransform}s is called with, how many of them
+ * it drops and how long it takes, by difference code, along with how many differences each accepted break matched.
+ * A single instance is passed to the transforms of one analysis via the {@link AnalysisContext}, and as revapi runs
+ * the transforms of an analysis on a single thread this is not thread safe.
+ */
+final class TransformMetrics {
+    static final String ANALYSIS_CONTEXT_KEY = "gradle-revapi.transformMetrics";
+
+    private static final ObjectMapper OBJECT_MAPPER =
+            GradleRevapiConfig.newJsonObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, Map<String, Counters>> countersByTransform = new TreeMap<>();
+    private final Map<AcceptedBreak, Long> acceptedBreakMatches = new TreeMap<>();
+
+    public void recordTransform(
+            String extensionId, Difference difference, @Nullable Difference transformed, long nanos) {
+        Counters counters = countersByTransform
+                .computeIfAbsent(extensionId, _extensionId -> new TreeMap<>())
+                .computeIfAbsent(difference.code, _code -> new Counters());
+        counters.calls++;
+        counters.nanos += nanos;
+        if (transformed == null) {
+            counters.drops++;
+        }
+    }
+
+    /** Accepted breaks that never {@link #recordMatch match} anything are reported as dead. */
+    public void registerAcceptedBreaks(Collection<AcceptedBreak> acceptedBreaks) {
+        acceptedBreaks.forEach(acceptedBreak -> acceptedBreakMatches.putIfAbsent(acceptedBreak, 0L));
+    }
+
+    public void recordMatch(AcceptedBreak acceptedBreak) {
+        acceptedBreakMatches.merge(acceptedBreak, 1L, Long::sum);
+    }
+
+    public TransformReport report() {
+        TransformReport.Builder report = TransformReport.builder();
+
+        countersByTransform.forEach((extensionId, countersByCode) ->
+                countersByCode.forEach((code, counters) -> report.addTransforms(TransformCodeMetrics.builder()
+                        .transform(extensionId)
+                        .code(code)
+                        .calls(counters.calls)
+                        .drops(counters.drops)
+                        .nanos(counters.nanos)
+                        .build())));
+
+        acceptedBreakMatches.forEach((acceptedBreak, matches) -> report.addAcceptedBreaks(AcceptedBreakMatches.builder()
+                .acceptedBreak(acceptedBreak)
+                .matches(matches)
+                .build()));
+
+        report.addAllDeadAcceptedBreaks(acceptedBreakMatches.entrySet().stream()
+                .filter(entry -> entry.getValue() == 0)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList()));
+
+        return report.build();
+    }
+
+    public void write(File file) {
+        file.getParentFile().mkdirs();
+        try {
+            OBJECT_MAPPER.writeValue(file, report());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write revapi transform metrics to " + file, e);
+        }
+    }
+
+    /** The metrics passed in to revapi's analysis, or a fresh instance that no one will read if there aren't any. */
+    static TransformMetrics fromContext(AnalysisContext analysisContext) {
+        return Optional.ofNullable(analysisContext.getData(ANALYSIS_CONTEXT_KEY))
+                .filter(TransformMetrics.class::isInstance)
+                .map(TransformMetrics.class::cast)
+                .orElseGet(TransformMetrics::new);
+    }
+
+    private static final class Counters {
+        private long calls;
+        private long drops;
+        private long nanos;
+    }
+
+    @Value.Immutable
+    @ImmutableStyle
+    @JsonSerialize(as = ImmutableTransformCodeMetrics.class)
+    @JsonDeserialize(as = ImmutableTransformCodeMetrics.class)
+    interface TransformCodeMetrics {
+        String transform();
+
+        String code();
+
+        long calls();
+
+        long drops();
+
+        long nanos();
+
+        class Builder extends ImmutableTransformCodeMetrics.Builder {}
+
+        static Builder builder() {
+            return new Builder();
+        }
+    }
+
+    @Value.Immutable
+    @ImmutableStyle
+    @JsonSerialize(as = ImmutableAcceptedBreakMatches.class)
+    @JsonDeserialize(as = ImmutableAcceptedBreakMatches.class)
+    interface AcceptedBreakMatches {
+        AcceptedBreak acceptedBreak();
+
+        long matches();
+
+        class Builder extends ImmutableAcceptedBreakMatches.Builder {}
+
+        static Builder builder() {
+            return new Builder();
+        }
+    }
+
+    @Value.Immutable
+    @ImmutableStyle
+    @JsonSerialize(as = ImmutableTransformReport.class)
+    @JsonDeserialize(as = ImmutableTransformReport.class)
+    interface TransformReport {
+        List<TransformCodeMetrics> transforms();
+
+        List<AcceptedBreakMatches> acceptedBreaks();
+
+        List<AcceptedBreak> deadAcceptedBreaks();
+
+        class Builder extends ImmutableTransformReport.Builder {}
+
+        static Builder builder() {
+            return new Builder();
+        }
+    }
+}
@@ -17,14 +17,28 @@
 package com.palantir.gradle.revapi;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.stream.Collectors;
 
 final class Utils {
     private Utils() {}
 
+    /** Replaces {@code target} with {@code source}, atomically if the filesystem supports it. */
+    public static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     public static String resourceToString(Class<?> clazz, String resourcePath) {
         InputStream resourceAsStream = clazz.getClassLoader().getResourceAsStream(resourcePath);
 
@@ -19,7 +19,6 @@ package com.palantir.gradle.revapi.config;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.palantir.gradle.revapi.ImmutableStyle;
-import java.util.Comparator;
 import java.util.Optional;
 import org.immutables.serial.Serial;
 import org.immutables.value.Value;
@@ -41,19 +40,33 @@ public interface AcceptedBreak extends Comparable<AcceptedBreak> {
     @JsonProperty("justification")
     Justification justification();
 
-    @Value.Lazy
-    default Comparator<AcceptedBreak> comparator() {
-        Comparator<Optional<String>> comparingEmptiesFirst =
-                Comparator.comparing(element -> element.orElse(null), Comparator.nullsFirst(Comparator.naturalOrder()));
+    /** Interns all the strings, as the same codes, elements and justifications tend to appear in many breaks. */
+    @Value.Check
+    @SuppressWarnings("ReferenceEquality")
+    default AcceptedBreak intern() {
+        String code = CompactAcceptedBreaks.intern(code());
+        Optional<String> oldElement = CompactAcceptedBreaks.intern(oldElement());
+        Optional<String> newElement = CompactAcceptedBreaks.intern(newElement());
+        Justification justification = CompactAcceptedBreaks.intern(justification());
 
-        return Comparator.comparing(AcceptedBreak::code)
-                .thenComparing(AcceptedBreak::oldElement, comparingEmptiesFirst)
-                .thenComparing(AcceptedBreak::newElement, comparingEmptiesFirst);
+        if (code == code()
+                && oldElement.orElse(null) == oldElement().orElse(null)
+                && newElement.orElse(null) == newElement().orElse(null)
+                && justification == justification()) {
+            return this;
+        }
+
+        return builder()
+                .code(code)
+                .oldElement(oldElement)
+                .newElement(newElement)
+                .justification(justification)
+                .build();
     }
 
     @Override
     default int compareTo(AcceptedBreak other) {
-        return comparator().compare(this, other);
+        return CompactAcceptedBreaks.COMPARATOR.compare(this, other);
     }
 
     class Builder extends ImmutableAcceptedBreak.Builder {
@@ -0,0 +1,70 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi.config;
+
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.collect.Maps;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+
+/**
+ * Helpers to keep large numbers of {@link AcceptedBreak}s cheap to hold in memory. Repos with lots of accepted breaks
+ * repeat the same codes, justifications and element signatures many times over, so these are interned, and the
+ * breaks themselves are stored in array-backed sorted sets rather than {@link java.util.TreeSet}s.
+ */
+final class CompactAcceptedBreaks {
+    private static final Comparator<Optional<String>> COMPARING_EMPTIES_FIRST =
+            Comparator.comparing(element -> element.orElse(null), Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    static final Comparator<AcceptedBreak> COMPARATOR = Comparator.comparing(AcceptedBreak::code)
+            .thenComparing(AcceptedBreak::oldElement, COMPARING_EMPTIES_FIRST)
+            .thenComparing(AcceptedBreak::newElement, COMPARING_EMPTIES_FIRST);
+
+    private static final Interner<String> STRINGS = Interners.newWeakInterner();
+    private static final Interner<Justification> JUSTIFICATIONS = Interners.newWeakInterner();
+
+    static String intern(String string) {
+        return STRINGS.intern(string);
+    }
+
+    static Optional<String> intern(Optional<String> string) {
+        return string.map(CompactAcceptedBreaks::intern);
+    }
+
+    static Justification intern(Justification justification) {
+        return JUSTIFICATIONS.intern(justification);
+    }
+
+    static SortedSet<AcceptedBreak> compact(Collection<AcceptedBreak> acceptedBreaks) {
+        return ImmutableSortedSet.copyOf(acceptedBreaks);
+    }
+
+    static boolean isCompact(Map<?, SortedSet<AcceptedBreak>> acceptedBreaks) {
+        return acceptedBreaks.values().stream().allMatch(ImmutableSortedSet.class::isInstance);
+    }
+
+    static <K> Map<K, SortedSet<AcceptedBreak>> compact(Map<K, SortedSet<AcceptedBreak>> acceptedBreaks) {
+        return Maps.transformValues(acceptedBreaks, CompactAcceptedBreaks::compact);
+    }
+
+    private CompactAcceptedBreaks() {}
+}
@@ -24,13 +24,16 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.palantir.gradle.revapi.ImmutableStyle;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 import org.immutables.value.Value;
+import org.yaml.snakeyaml.LoaderOptions;
 
 @Value.Immutable
 @ImmutableStyle
@@ -60,6 +63,32 @@ public abstract class GradleRevapiConfig {
                 .collect(Collectors.toSet());
     }
 
+    public final Set<GroupAndName> groupAndNamesWithAcceptedBreaks() {
+        return acceptedBreaks().values().stream()
+                .flatMap(perProjectAcceptedBreaks -> perProjectAcceptedBreaks.groupAndNames().stream())
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    public final ProjectRevapiConfig projectConfigFor(GroupAndName groupAndName) {
+        ProjectRevapiConfig.Builder builder = ProjectRevapiConfig.builder();
+
+        acceptedBreaks().forEach((version, perProjectAcceptedBreaks) -> {
+            Set<AcceptedBreak> acceptedBreaksForVersion = perProjectAcceptedBreaks.acceptedBreaksFor(groupAndName);
+            if (!acceptedBreaksForVersion.isEmpty()) {
+                builder.putAcceptedBreaks(version, CompactAcceptedBreaks.compact(acceptedBreaksForVersion));
+            }
+        });
+
+        return builder.build();
+    }
+
+    public final GradleRevapiConfig withoutAcceptedBreaks() {
+        return ImmutableGradleRevapiConfig.builder()
+                .from(this)
+                .acceptedBreaks(Collections.emptyMap())
+                .build();
+    }
+
     public final GradleRevapiConfig addAcceptedBreaks(
             GroupNameVersion groupNameVersion, Set<AcceptedBreak> acceptedBreaks) {
 
@@ -89,8 +118,14 @@ public abstract class GradleRevapiConfig {
     }
 
     public static ObjectMapper newYamlObjectMapper() {
-        return configureObjectMapper(
-                new ObjectMapper(new YAMLFactory().disable(YAMLGenerator.Feature.WRITE_DOC_START_MARKER)));
+        // Repos with lots of accepted breaks can have revapi.yml files bigger than snakeyaml's default 3MB limit
+        LoaderOptions loaderOptions = new LoaderOptions();
+        loaderOptions.setCodePointLimit(Integer.MAX_VALUE);
+
+        return configureObjectMapper(new ObjectMapper(YAMLFactory.builder()
+                .loaderOptions(loaderOptions)
+                .disable(YAMLGenerator.Feature.WRITE_DOC_START_MARKER)
+                .build()));
     }
 
     public static ObjectMapper newJsonObjectMapper() {
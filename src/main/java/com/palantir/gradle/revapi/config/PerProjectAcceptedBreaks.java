@@ -18,13 +18,13 @@ package com.palantir.gradle.revapi.config;
 
 import com.fasterxml.jackson.annotation.JsonValue;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.google.common.collect.ImmutableSortedSet;
 import com.palantir.gradle.revapi.ImmutableStyle;
 import java.util.Collections;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
-import java.util.TreeSet;
 import org.immutables.value.Value;
 
 @Value.Immutable
@@ -35,6 +35,21 @@ abstract class PerProjectAcceptedBreaks {
     @Value.NaturalOrder
     protected abstract SortedMap<GroupAndName, SortedSet<AcceptedBreak>> acceptedBreaks();
 
+    @Value.Check
+    protected PerProjectAcceptedBreaks compact() {
+        if (CompactAcceptedBreaks.isCompact(acceptedBreaks())) {
+            return this;
+        }
+
+        return builder()
+                .putAllAcceptedBreaks(CompactAcceptedBreaks.compact(acceptedBreaks()))
+                .build();
+    }
+
+    public Set<GroupAndName> groupAndNames() {
+        return acceptedBreaks().keySet();
+    }
+
     public Set<AcceptedBreak> acceptedBreaksFor(GroupAndName groupAndName) {
         return acceptedBreaks().getOrDefault(groupAndName, Collections.emptySortedSet());
     }
@@ -46,9 +61,10 @@ abstract class PerProjectAcceptedBreaks {
 
         SortedMap<GroupAndName, SortedSet<AcceptedBreak>> mergedAcceptedBreaks = new TreeMap<>(acceptedBreaks());
 
-        SortedSet<AcceptedBreak> newAcceptedBreaks =
-                new TreeSet<>(acceptedBreaks().getOrDefault(groupAndName, Collections.emptySortedSet()));
-        newAcceptedBreaks.addAll(acceptedBreaks);
+        SortedSet<AcceptedBreak> newAcceptedBreaks = ImmutableSortedSet.<AcceptedBreak>naturalOrder()
+                .addAll(acceptedBreaks().getOrDefault(groupAndName, Collections.emptySortedSet()))
+                .addAll(acceptedBreaks)
+                .build();
 
         mergedAcceptedBreaks.put(groupAndName, newAcceptedBreaks);
 
@@ -0,0 +1,70 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.palantir.gradle.revapi.ImmutableStyle;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import org.immutables.value.Value;
+
+/**
+ * The accepted breaks of a single {@link GroupAndName}, as stored in one shard file of the sharded config layout.
+ */
+@Value.Immutable
+@ImmutableStyle
+@JsonDeserialize(as = ImmutableProjectRevapiConfig.class)
+public abstract class ProjectRevapiConfig {
+    @Value.NaturalOrder
+    protected abstract SortedMap<Version, SortedSet<AcceptedBreak>> acceptedBreaks();
+
+    @Value.Check
+    protected final ProjectRevapiConfig compact() {
+        if (CompactAcceptedBreaks.isCompact(acceptedBreaks())) {
+            return this;
+        }
+
+        return builder()
+                .putAllAcceptedBreaks(CompactAcceptedBreaks.compact(acceptedBreaks()))
+                .build();
+    }
+
+    @JsonIgnore
+    public final boolean isEmpty() {
+        return acceptedBreaks().isEmpty();
+    }
+
+    public final GradleRevapiConfig addTo(GroupAndName groupAndName, GradleRevapiConfig gradleRevapiConfig) {
+        GradleRevapiConfig result = gradleRevapiConfig;
+        for (Map.Entry<Version, SortedSet<AcceptedBreak>> entry : acceptedBreaks().entrySet()) {
+            result = result.addAcceptedBreaks(groupAndName.withVersion(entry.getKey()), entry.getValue());
+        }
+        return result;
+    }
+
+    public static class Builder extends ImmutableProjectRevapiConfig.Builder {}
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static ProjectRevapiConfig empty() {
+        return builder().build();
+    }
+}
@@ -64,6 +64,43 @@ class RevapiSpec extends IntegrationSpec {
         runRevapiExpectingToFindDifferences("root-project")
     }
 
+    def 'still finds differences when support archives are pruned to those reachable from the api'() {
+        when:
+        buildFile << """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+            apply plugin: 'java-library'
+            
+            repositories {
+                mavenCentral()
+            }
+            
+            dependencies {
+                implementation 'one.util:streamex:0.7.0'
+                implementation 'com.google.guava:guava:28.0-jre'
+            }
+            
+            revapi {
+                oldGroup = 'org.revapi'
+                oldName = 'revapi'
+                oldVersion = '0.11.1'
+                pruneSupportArchives = true
+            }
+        """.stripIndent()
+
+        rootProjectNameIs("root-project")
+
+        writeToFile 'src/main/java/foo/Foo.java', '''
+            import one.util.streamex.StreamEx;
+
+            public interface Foo {
+                StreamEx<String> lol();
+            }
+        '''.stripIndent()
+
+        then:
+        runRevapiExpectingToFindDifferences("root-project")
+    }
+
     def 'revapi task succeeds when there are no breaking changes'() {
         when:
         buildFile << """
@@ -85,6 +122,62 @@ class RevapiSpec extends IntegrationSpec {
         runTasksSuccessfully("revapi")
     }
 
+    def 'writes phase metrics for the project and a summary for the build'() {
+        when:
+        buildFile << """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+            apply plugin: 'java-library'
+            
+            repositories {
+                mavenCentral()
+            }
+            
+            revapi {
+                oldGroup = 'org.codehaus.cargo'
+                oldName = 'empty-jar'
+                oldVersion = '1.7.7'
+            }
+        """.stripIndent()
+
+        then:
+        runTasksSuccessfully("revapi")
+
+        def metrics = new groovy.json.JsonSlurper().parse(file('build/revapi/revapi-metrics.json'))
+        metrics.projectPath == ':'
+        metrics.phases*.phase.containsAll(['RESOLVE_OLD_API', 'LOAD_ARCHIVES', 'ANALYZE', 'REPORT'])
+
+        def summary = new groovy.json.JsonSlurper().parse(file('build/revapi/revapi-metrics-summary.json'))
+        summary.projects*.projectPath == [':']
+        summary.totals*.phase.contains('ANALYZE')
+        summary.providerEvaluations > 0
+    }
+
+    def 'writes a trace of the whole build when tracing is enabled'() {
+        when:
+        buildFile << """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+            apply plugin: 'java-library'
+            
+            repositories {
+                mavenCentral()
+            }
+            
+            revapi {
+                oldGroup = 'org.codehaus.cargo'
+                oldName = 'empty-jar'
+                oldVersion = '1.7.7'
+            }
+        """.stripIndent()
+
+        then:
+        runTasksSuccessfully("revapi", "-Prevapi.trace=true")
+
+        def trace = new groovy.json.JsonSlurper().parse(file('build/revapi/revapi-trace.json'))
+        def spans = trace.traceEvents.findAll { it.ph == 'X' }
+        spans*.name.containsAll(['resolve old version', 'LOAD_ARCHIVES', 'ANALYZE', 'REPORT'])
+        spans.every { it.args.project == ':' && it.args.thread }
+    }
+
     def 'doesnt explode when project code depends on compileOnly dependency'() {
         when:
         buildFile << """
@@ -422,6 +515,177 @@ class RevapiSpec extends IntegrationSpec {
         runTasksSuccessfully("revapi")
     }
 
+    def 'reports which accepted breaks matched differences and which are dead'() {
+        when:
+        buildFile << """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+            apply plugin: 'java-library'
+            
+            repositories {
+                mavenCentral()
+            }
+            
+            revapi {
+                oldGroup = 'junit'
+                oldName = 'junit'
+                oldVersion = '4.12'
+            }
+        """.stripIndent()
+
+        rootProjectNameIs("root-project")
+
+        and:
+        runTasksSuccessfully("revapiAcceptAllBreaks", "--justification", "it's all good :)")
+        runTasksSuccessfully("revapiAcceptBreak",
+                "--code", "java.class.removed",
+                "--old", "class does.not.Exist",
+                "--justification", "never matches anything")
+
+        then:
+        runTasksSuccessfully("revapi")
+
+        def metrics = new groovy.json.JsonSlurper().parse(file('build/revapi/revapi-transform-metrics.json'))
+        metrics.deadAcceptedBreaks*.old == ['class does.not.Exist']
+        metrics.acceptedBreaks.findAll { it.acceptedBreak.old != 'class does.not.Exist' }.every { it.matches > 0 }
+        metrics.transforms.find { it.transform == 'gradle-revapi.accepted.breaks' && it.code == 'java.class.removed' }
+                .drops > 0
+    }
+
+    def 'compares against several old versions and writes a compatibility matrix'() {
+        when:
+        buildFile << """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+            apply plugin: 'java-library'
+            
+            repositories {
+                mavenCentral()
+            }
+            
+            revapi {
+                oldGroup = 'junit'
+                oldName = 'junit'
+                oldVersions = ['4.12', '4.11']
+                baselines = 2
+                maxParallelBaselines = 2
+            }
+        """.stripIndent()
+
+        rootProjectNameIs("root-project")
+
+        then:
+        runTasksSuccessfully("revapiAnalyze")
+
+        file('build/revapi/baselines/revapi-results-4.12.json').exists()
+        file('build/revapi/baselines/revapi-results-4.11.json').exists()
+
+        def matrix = new groovy.json.JsonSlurper().parse(file('build/revapi/baselines/compatibility-matrix.json'))
+        matrix.baselines*.version == ['4.12', '4.11']
+        matrix.baselines.every { it.differences > 0 }
+        matrix.differences.any { it.code == 'java.class.removed' && it.versions == ['4.12', '4.11'] }
+    }
+
+    def 'fails with a clear message if baselines is less than 1'() {
+        when:
+        buildFile << """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+            apply plugin: 'java-library'
+            
+            repositories {
+                mavenCentral()
+            }
+            
+            revapi {
+                oldGroup = 'junit'
+                oldName = 'junit'
+                oldVersion = '4.12'
+                baselines = 0
+            }
+        """.stripIndent()
+
+        rootProjectNameIs("root-project")
+
+        then:
+        def standardError = runTasksWithFailure("revapiAnalyze").standardError
+        standardError.contains("revapi.baselines must be at least 1 in root project 'root-project', but was 0")
+    }
+
+    def 'aggregates the results of every project in the root project'() {
+        when:
+        buildFile << """
+            allprojects {
+                apply plugin: 'java-library'
+
+                repositories {
+                    mavenCentral()
+                }
+            }
+        """.stripIndent()
+
+        addSubproject 'one', """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+
+            revapi {
+                oldGroup = 'junit'
+                oldName = 'junit'
+                oldVersion = '4.12'
+            }
+        """.stripIndent()
+
+        addSubproject 'two', """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+
+            revapi {
+                oldVersions = []
+            }
+        """.stripIndent()
+
+        then:
+        runTasksSuccessfully("revapiAggregate")
+
+        def summary = new groovy.json.JsonSlurper().parse(file('build/revapi/revapi-aggregate-summary.json'))
+        summary.projects*.project == [':one']
+        summary.differences > 0
+        summary.byCode['java.class.removed'] > 0
+        summary.topOffenders*.project == [':one']
+
+        def combined = new groovy.json.JsonSlurper().parse(file('build/revapi/revapi-aggregate-results.json'))
+        combined.projects*.project == [':one']
+        combined.projects[0].results.size() == summary.differences
+    }
+
+    def 'queries binary results across projects'() {
+        when:
+        buildFile << """
+            allprojects {
+                apply plugin: 'java-library'
+
+                repositories {
+                    mavenCentral()
+                }
+            }
+        """.stripIndent()
+
+        addSubproject 'one', """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+
+            revapi {
+                oldGroup = 'junit'
+                oldName = 'junit'
+                oldVersion = '4.12'
+                binaryResults = true
+            }
+        """.stripIndent()
+
+        then:
+        runTasksSuccessfully("revapiAnalyze")
+        file('one/build/revapi/revapi-results.bin').exists()
+
+        def result = runTasksSuccessfully("revapiQuery", "--code", "java.class.removed", "--element", "junit.framework")
+        result.standardOutput.contains(':one: java.class.removed class junit.framework.')
+        !result.standardOutput.contains('java.method.removed')
+        result.standardOutput.contains('matching differences in 1 projects')
+    }
+
     def 'accepting breaks individually should work'() {
         when:
         buildFile << """
@@ -519,6 +783,199 @@ class RevapiSpec extends IntegrationSpec {
         assert runRevapiExpectingFailure().contains('java.class.removed')
     }
 
+    def 'compares against the published old version of every project in parallel when the projects are newer'() {
+        when:
+        buildFile << """
+            allprojects {
+                apply plugin: 'java-library'
+                apply plugin: 'maven-publish'
+
+                group = 'revapi.test'
+                version = '1.0.0'
+                ${mavenRepoGradle()}
+
+                ${testMavenPublication()}
+            }
+        """.stripIndent()
+
+        def one = addSubproject 'one', """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+
+            revapi {
+                oldVersion = '1.0.0'
+            }
+        """.stripIndent()
+
+        def two = addSubproject 'two', """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+
+            revapi {
+                oldVersion = '1.0.0'
+            }
+        """.stripIndent()
+
+        def fooJavaFile = writeToFile one, 'src/main/java/foo/Foo.java', '''
+            package foo;
+            public interface Foo {}
+        '''.stripIndent()
+
+        def barJavaFile = writeToFile two, 'src/main/java/bar/Bar.java', '''
+            package bar;
+            public interface Bar {}
+        '''.stripIndent()
+
+        println runTasksSuccessfully("publish").standardOutput
+
+        and:
+        buildFile.text = buildFile.text.replace("version = '1.0.0'", "version = '1.1.0'")
+        fooJavaFile.delete()
+        barJavaFile.delete()
+
+        then:
+        def executionResult = runTasksWithFailure("revapi", "--parallel", "--continue")
+        executionResult.standardError.contains('java.class.removed')
+        executionResult.standardError.contains('interface foo.Foo')
+        executionResult.standardError.contains('interface bar.Bar')
+    }
+
+    def 'resolves the old versions of every project in one batch'() {
+        when:
+        buildFile << """
+            allprojects {
+                apply plugin: 'java-library'
+                apply plugin: 'maven-publish'
+
+                group = 'revapi.test'
+                version = '1.0.0'
+                ${mavenRepoGradle()}
+
+                ${testMavenPublication()}
+            }
+        """.stripIndent()
+
+        def one = addSubproject 'one', """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+
+            dependencies {
+                api project(':two')
+            }
+
+            revapi {
+                oldVersion = '1.0.0'
+            }
+        """.stripIndent()
+
+        def two = addSubproject 'two', """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+
+            revapi {
+                oldVersion = '1.0.0'
+            }
+        """.stripIndent()
+
+        def fooJavaFile = writeToFile one, 'src/main/java/foo/Foo.java', '''
+            package foo;
+            public interface Foo {}
+        '''.stripIndent()
+
+        writeToFile two, 'src/main/java/bar/Bar.java', '''
+            package bar;
+            public interface Bar {}
+        '''.stripIndent()
+
+        println runTasksSuccessfully("publish").standardOutput
+
+        and:
+        buildFile.text = buildFile.text.replace("version = '1.0.0'", "version = '1.1.0'")
+        fooJavaFile.delete()
+
+        then:
+        def executionResult = runTasksWithFailure("revapi", "-Prevapi.batchOldApiResolution=true", "--info")
+        executionResult.wasExecuted(':revapiResolveOldApis')
+        executionResult.standardOutput.contains('Resolved 2 of 2 old versions in a single batch')
+        executionResult.standardError.contains('interface foo.Foo')
+    }
+
+    def 'analyses classes directories without building jars when asked to'() {
+        when:
+        buildFile << """
+            allprojects {
+                apply plugin: 'java-library'
+                apply plugin: 'maven-publish'
+
+                group = 'revapi.test'
+                version = '1.0.0'
+                ${mavenRepoGradle()}
+
+                ${testMavenPublication()}
+            }
+        """.stripIndent()
+
+        def one = addSubproject 'one', """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+
+            dependencies {
+                api project(':two')
+            }
+
+            revapi {
+                oldVersion = project.version
+            }
+        """.stripIndent()
+
+        def two = addSubproject 'two'
+
+        def fooJavaFile = writeToFile one, 'src/main/java/foo/Foo.java', '''
+            package foo;
+            public interface Foo {
+                bar.Bar bar();
+            }
+        '''.stripIndent()
+
+        writeToFile two, 'src/main/java/bar/Bar.java', '''
+            package bar;
+            public interface Bar {}
+        '''.stripIndent()
+
+        println runTasksSuccessfully("publish").standardOutput
+
+        and:
+        fooJavaFile.text = fooJavaFile.text.replace('bar.Bar bar();', '')
+
+        then:
+        def executionResult = runTasksWithFailure(":one:revapi", "-Prevapi.classesDirectories=true")
+        executionResult.standardError.contains('java.method.removed')
+        !executionResult.wasExecuted(':one:jar')
+        !executionResult.wasExecuted(':two:jar')
+    }
+
+    def 'stops at the first break when failing fast'() {
+        when:
+        buildFile << """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+            apply plugin: 'java-library'
+
+            repositories {
+                mavenCentral()
+            }
+
+            revapi {
+                oldGroup = 'junit'
+                oldName = 'junit'
+                oldVersion = '4.12'
+            }
+        """.stripIndent()
+
+        rootProjectNameIs("root-project")
+
+        then:
+        def executionResult = runTasksWithFailure("revapi", "-Prevapi.failFast=true")
+        executionResult.standardError.contains('java.class.removed')
+
+        def results = new groovy.json.JsonSlurper().parse(file('build/revapi/revapi-results.json'))
+        results.results.size() == 1
+    }
+
     def 'ignores breaks in dependent projects'() {
         when:
         buildFile << """
@@ -632,6 +1089,77 @@ class RevapiSpec extends IntegrationSpec {
         runTasksSuccessfully("revapi")
     }
 
+    def 'ignores scala classes even when the excluded annotations are replaced'() {
+        when:
+        buildFile << """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+            apply plugin: 'java-library'
+            
+            repositories {
+                mavenCentral()
+            }
+            
+            revapi {
+                oldGroup = 'com.twitter'
+                oldName = 'chill-avro_2.12'
+                oldVersion = '0.9.3'
+                excludeAnnotations = ['com.google.common.annotations.Beta']
+            }
+        """.stripIndent()
+
+        then:
+        runTasksSuccessfully("revapi")
+    }
+
+    def 'does not check excluded packages or annotated classes'() {
+        when:
+        buildFile << """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+            apply plugin: 'java-library'
+            apply plugin: 'maven-publish'
+
+            allprojects {
+                group = 'revapi.test'
+                ${mavenRepoGradle()}
+            }
+
+            version = '1.0.0'
+
+            revapi {
+                oldVersion = project.version
+                excludePackages = ['foo.internal']
+                excludeAnnotations.add('java.lang.Deprecated')
+            }
+
+            ${testMavenPublication()}
+        """.stripIndent()
+
+        def internalJavaFile = writeToFile 'src/main/java/foo/internal/Internal.java', '''
+            package foo.internal;
+            public interface Internal {}
+        '''.stripIndent()
+
+        def deprecatedJavaFile = writeToFile 'src/main/java/foo/Old.java', '''
+            package foo;
+            @Deprecated
+            public interface Old {}
+        '''.stripIndent()
+
+        writeToFile 'src/main/java/foo/Foo.java', '''
+            package foo;
+            public interface Foo {}
+        '''.stripIndent()
+
+        println runTasksSuccessfully("publish").standardOutput
+
+        and:
+        internalJavaFile.delete()
+        deprecatedJavaFile.delete()
+
+        then:
+        runTasksSuccessfully("revapi")
+    }
+
     def 'ignores magic methods added by groovy when comparing the same groovy class'() {
         when:
         buildFile << """
@@ -767,6 +1295,36 @@ class RevapiSpec extends IntegrationSpec {
         runTasksSuccessfully('revapi').wasUpToDate('revapiAnalyze')
     }
 
+    def 'always reruns and is never taken from the build cache while recording jfr'() {
+        when:
+        buildFile << """
+            apply plugin: '${TestConstants.PLUGIN_NAME}'
+            apply plugin: 'java-library'
+            
+            repositories {
+                mavenCentral()
+            }
+            
+            revapi {
+                oldGroup = 'org.codehaus.cargo'
+                oldName = 'empty-jar'
+                oldVersion = '1.7.7'
+                recordJfr = true
+            }
+        """.stripIndent()
+
+        then:
+        runTasksSuccessfully('revapi', '--build-cache').wasExecuted('revapiAnalyze')
+        runTasksSuccessfully('revapi', '--build-cache').wasExecuted('revapiAnalyze')
+
+        when:
+        runTasksSuccessfully('clean')
+
+        then:
+        runTasksSuccessfully('revapi', '--build-cache').wasExecuted('revapiAnalyze')
+        file('build/revapi/revapi-analyze.jfr').exists()
+    }
+
     def 'is not up to date when public (not private) api has changed'() {
         when:
         buildFile << """
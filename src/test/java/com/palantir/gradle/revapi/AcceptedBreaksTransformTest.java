@@ -0,0 +1,106 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableSet;
+import com.palantir.gradle.revapi.TransformMetrics.AcceptedBreakMatches;
+import com.palantir.gradle.revapi.TransformMetrics.TransformReport;
+import com.palantir.gradle.revapi.config.AcceptedBreak;
+import org.assertj.core.groups.Tuple;
+import org.jboss.dmr.ModelNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.revapi.AnalysisContext;
+import org.revapi.Difference;
+import org.revapi.Element;
+
+class AcceptedBreaksTransformTest {
+    private static final AcceptedBreak EXACT = AcceptedBreak.builder()
+            .code("java.method.removed")
+            .oldElement("method void foo.Bar::baz()")
+            .justification("exact")
+            .build();
+    private static final AcceptedBreak ANY_ELEMENT = AcceptedBreak.builder()
+            .code("java.class.removed")
+            .justification("any element")
+            .build();
+    private static final AcceptedBreak DEAD = AcceptedBreak.builder()
+            .code("java.method.removed")
+            .oldElement("method void foo.Bar::quux()")
+            .justification("dead")
+            .build();
+
+    private final TransformMetrics transformMetrics = new TransformMetrics();
+    private final AcceptedBreaksTransform transform = new AcceptedBreaksTransform();
+
+    @BeforeEach
+    void before() {
+        ModelNode configuration = ModelNode.fromJSONString(AcceptedBreaksTransform.configFor(
+                        ImmutableSet.of(EXACT, ANY_ELEMENT, DEAD))
+                .configAsString());
+
+        transform.initialize(AnalysisContext.builder()
+                .withData(TransformMetrics.ANALYSIS_CONTEXT_KEY, transformMetrics)
+                .build()
+                .copyWithConfiguration(configuration.get(0).get("configuration")));
+    }
+
+    @Test
+    void drops_differences_matching_accepted_breaks_and_reports_dead_ones() {
+        Difference methodRemoved = difference("java.method.removed");
+        Difference classRemoved = difference("java.class.removed");
+
+        assertThat(transform.transform(element("method void foo.Bar::baz()"), null, methodRemoved))
+                .isNull();
+        assertThat(transform.transform(element("method void foo.Bar::other()"), null, methodRemoved))
+                .isSameAs(methodRemoved);
+        assertThat(transform.transform(element("class foo.Bar"), null, classRemoved))
+                .isNull();
+        assertThat(transform.transform(null, element("class foo.Baz"), classRemoved))
+                .isNull();
+
+        TransformReport report = transformMetrics.report();
+        assertThat(report.acceptedBreaks())
+                .extracting(AcceptedBreakMatches::acceptedBreak, AcceptedBreakMatches::matches)
+                .containsExactlyInAnyOrder(
+                        Tuple.tuple(EXACT, 1L),
+                        Tuple.tuple(ANY_ELEMENT, 2L),
+                        Tuple.tuple(DEAD, 0L));
+        assertThat(report.deadAcceptedBreaks()).containsExactly(DEAD);
+        assertThat(report.transforms()).allSatisfy(metrics -> {
+            assertThat(metrics.transform()).isEqualTo("gradle-revapi.accepted.breaks");
+            assertThat(metrics.calls()).isEqualTo(2);
+        });
+        assertThat(report.transforms())
+                .extracting(metrics -> metrics.code() + ":" + metrics.drops())
+                .containsExactly("java.class.removed:2", "java.method.removed:1");
+    }
+
+    private static Difference difference(String code) {
+        return Difference.builder().withCode(code).withName(code).build();
+    }
+
+    private static Element element(String fullHumanReadableString) {
+        Element element = mock(Element.class);
+        when(element.getFullHumanReadableString()).thenReturn(fullHumanReadableString);
+        return element;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.ByteStreams;
+import com.palantir.gradle.revapi.ApiClassFilter.ArchiveViews;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.revapi.Archive;
+import org.revapi.simple.FileArchive;
+
+class ApiClassFilterTest {
+    private static final String PREFIX = "com/palantir/gradle/revapi/ApiClassFilterTest$";
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void removes_relocated_classes_and_moves_excluded_packages_to_a_support_archive() throws IOException {
+        File jar = jar(
+                "foo-all.jar",
+                "com/palantir/Foo.class",
+                "com/palantir/internal/Bar.class",
+                "shadow/com/google/common/Baz.class",
+                "relocated/deps/Quux.class",
+                "META-INF/MANIFEST.MF");
+
+        ArchiveViews views = filter(
+                        ImmutableList.of("shadow", "relocated.deps"),
+                        ImmutableList.of(),
+                        ImmutableList.of("com.palantir.internal"),
+                        ImmutableList.of())
+                .viewsOf(jar, metadataFor(jar));
+
+        assertThat(views.api().getName()).isEqualTo("foo-all.jar");
+        assertThat(entries(views.api())).containsExactly("com/palantir/Foo.class", "META-INF/MANIFEST.MF");
+        assertThat(entries(views.excluded().get())).containsExactly("com/palantir/internal/Bar.class");
+    }
+
+    @Test
+    void only_checks_included_packages() throws IOException {
+        File jar = jar("foo.jar", "com/palantir/api/Foo.class", "com/palantir/apiextra/Bar.class");
+
+        ArchiveViews views = filter(
+                        ImmutableList.of(),
+                        ImmutableList.of("com.palantir.api"),
+                        ImmutableList.of(),
+                        ImmutableList.of())
+                .viewsOf(jar, metadataFor(jar));
+
+        assertThat(entries(views.api())).containsExactly("com/palantir/api/Foo.class");
+        assertThat(entries(views.excluded().get())).containsExactly("com/palantir/apiextra/Bar.class");
+    }
+
+    @Test
+    void excludes_annotated_classes_and_the_classes_nested_in_them() throws IOException {
+        File jar = jarOf("annotated.jar", Annotated.class, Annotated.Nested.class, Plain.class);
+
+        ArchiveViews views = filter(
+                        ImmutableList.of(),
+                        ImmutableList.of(),
+                        ImmutableList.of(),
+                        ImmutableList.of("java.lang.Deprecated"))
+                .viewsOf(jar, metadataFor(jar));
+
+        assertThat(entries(views.api())).containsExactly(PREFIX + "Plain.class");
+        assertThat(entries(views.excluded().get()))
+                .containsExactly(PREFIX + "Annotated.class", PREFIX + "Annotated$Nested.class");
+    }
+
+    @Test
+    void leaves_archives_without_filtered_classes_alone() throws IOException {
+        File jar = jar("foo.jar", "com/palantir/Foo.class");
+
+        ArchiveViews views = filter(
+                        ImmutableList.of("shadow"),
+                        ImmutableList.of(),
+                        ImmutableList.of("com.palantir.internal"),
+                        ImmutableList.of("java.lang.Deprecated"))
+                .viewsOf(jar, metadataFor(jar));
+
+        assertThat(views.api()).isInstanceOf(FileArchive.class);
+        assertThat(views.excluded()).isEmpty();
+    }
+
+    private static ApiClassFilter filter(
+            List<String> relocationPrefixes,
+            List<String> includePackages,
+            List<String> excludePackages,
+            List<String> excludeAnnotations) {
+        return new ApiClassFilter(relocationPrefixes, includePackages, excludePackages, excludeAnnotations);
+    }
+
+    private static ArchiveMetadata metadataFor(File jar) {
+        return new ArchiveMetadataCache(Long.MAX_VALUE).metadataFor(jar);
+    }
+
+    private static List<String> entries(Archive archive) throws IOException {
+        List<String> entries = new ArrayList<>();
+        try (InputStream stream = archive.openStream();
+                ZipInputStream zip = new ZipInputStream(stream)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.add(entry.getName());
+            }
+        }
+        return entries;
+    }
+
+    private File jar(String name, String... entries) throws IOException {
+        File jar = new File(tempDir, name);
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(new FileOutputStream(jar))) {
+            for (String entry : entries) {
+                zipOutputStream.putNextEntry(new ZipEntry(entry));
+                zipOutputStream.write(entry.getBytes(StandardCharsets.UTF_8));
+                zipOutputStream.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    private File jarOf(String name, Class<?>... classes) throws IOException {
+        File jar = new File(tempDir, name);
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(new FileOutputStream(jar))) {
+            for (Class<?> clazz : classes) {
+                String entry = clazz.getName().replace('.', '/') + ".class";
+                zipOutputStream.putNextEntry(new ZipEntry(entry));
+                try (InputStream classFile = clazz.getResourceAsStream("/" + entry)) {
+                    ByteStreams.copy(classFile, zipOutputStream);
+                }
+                zipOutputStream.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    @Deprecated
+    static class Annotated {
+        static class Nested {}
+    }
+
+    static class Plain {}
+}
@@ -0,0 +1,123 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ArchiveMetadataCacheTest {
+    @TempDir
+    File tempDir;
+
+    @Test
+    void reads_class_names_and_ignores_other_entries() throws IOException {
+        File jar = jar("a.jar", "com/palantir/Foo.class", "com/palantir/Foo$Bar.class", "META-INF/MANIFEST.MF");
+
+        ArchiveMetadata metadata = new ArchiveMetadataCache(Long.MAX_VALUE).metadataFor(jar);
+
+        assertThat(metadata.classNames()).containsExactly("com/palantir/Foo", "com/palantir/Foo$Bar");
+        assertThat(metadata.hasClasses()).isTrue();
+    }
+
+    @Test
+    void archives_with_the_same_contents_share_metadata() throws IOException {
+        ArchiveMetadataCache cache = new ArchiveMetadataCache(Long.MAX_VALUE);
+
+        ArchiveMetadata first = cache.metadataFor(jar("a.jar", "com/palantir/Foo.class"));
+        ArchiveMetadata second = cache.metadataFor(jar("b.jar", "com/palantir/Foo.class"));
+        ArchiveMetadata different = cache.metadataFor(jar("c.jar", "com/palantir/Bar.class"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(different.contentHash()).isNotEqualTo(first.contentHash());
+        assertThat(cache.sizeBytes()).isEqualTo(first.estimatedSizeBytes() + different.estimatedSizeBytes());
+    }
+
+    @Test
+    void rereads_archives_that_have_changed() throws IOException {
+        ArchiveMetadataCache cache = new ArchiveMetadataCache(Long.MAX_VALUE);
+        File jar = jar("a.jar", "com/palantir/Foo.class");
+        cache.metadataFor(jar);
+
+        jar("a.jar", "com/palantir/Foo.class", "com/palantir/Bar.class");
+        jar.setLastModified(jar.lastModified() + 10_000);
+
+        assertThat(cache.metadataFor(jar).classNames()).containsExactly("com/palantir/Bar", "com/palantir/Foo");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void evicts_least_recently_used_entries_when_over_budget() throws IOException {
+        File first = jar("a.jar", "com/palantir/Foo.class");
+        File second = jar("b.jar", "com/palantir/Bar.class");
+        File third = jar("c.jar", "com/palantir/Baz.class");
+        long entrySize = new ArchiveMetadataCache(Long.MAX_VALUE).metadataFor(first).estimatedSizeBytes();
+        ArchiveMetadataCache cache = new ArchiveMetadataCache(2 * entrySize);
+
+        cache.metadataFor(first);
+        cache.metadataFor(second);
+        cache.metadataFor(first);
+        cache.metadataFor(third);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.sizeBytes()).isLessThanOrEqualTo(2 * entrySize);
+    }
+
+    @Test
+    void reuses_stored_metadata_in_later_builds_until_the_archive_changes() throws IOException {
+        File storeDirectory = new File(tempDir, "store");
+        File jar = jar("a.jar", "com/palantir/Foo.class");
+        ArchiveMetadata scanned = new ArchiveMetadataCache(Long.MAX_VALUE, store(storeDirectory)).metadataFor(jar);
+
+        assertThat(new ArchiveMetadataCache(Long.MAX_VALUE, store(storeDirectory)).metadataFor(jar))
+                .isEqualTo(scanned);
+        assertThat(storeDirectory.listFiles()).hasSize(1);
+
+        jar("a.jar", "com/palantir/Foo.class", "com/palantir/Bar.class");
+        jar.setLastModified(jar.lastModified() + 10_000);
+
+        assertThat(new ArchiveMetadataCache(Long.MAX_VALUE, store(storeDirectory))
+                        .metadataFor(jar)
+                        .classNames())
+                .containsExactly("com/palantir/Bar", "com/palantir/Foo");
+        assertThat(storeDirectory.listFiles()).hasSize(1);
+    }
+
+    private static Optional<ArchiveMetadataStore> store(File directory) {
+        return Optional.of(new ArchiveMetadataStore(directory));
+    }
+
+    private File jar(String name, String... entries) throws IOException {
+        File jar = new File(tempDir, name);
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(new FileOutputStream(jar))) {
+            for (String entry : entries) {
+                zipOutputStream.putNextEntry(new ZipEntry(entry));
+                zipOutputStream.write(entry.getBytes(StandardCharsets.UTF_8));
+                zipOutputStream.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
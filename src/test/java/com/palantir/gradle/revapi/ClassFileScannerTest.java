@@ -0,0 +1,95 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.io.ByteStreams;
+import com.palantir.gradle.revapi.ClassFileScanner.ScannedClass;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class ClassFileScannerTest {
+    @Test
+    void finds_classes_exposed_in_the_api_but_not_private_members() throws IOException {
+        ScannedClass scannedClass = ClassFileScanner.scan(classFile(Fixture.class));
+
+        assertThat(scannedClass.name()).isEqualTo("com/palantir/gradle/revapi/ClassFileScannerTest$Fixture");
+        assertThat(scannedClass.apiReferences())
+                .contains(
+                        "java/util/AbstractList",
+                        "java/io/Serializable",
+                        "java/lang/Comparable",
+                        "java/util/Map",
+                        "java/lang/String",
+                        "java/util/List",
+                        "java/lang/Integer",
+                        "java/lang/Deprecated",
+                        "java/util/function/Function",
+                        "java/lang/Number",
+                        "java/util/Set",
+                        "java/io/IOException")
+                .doesNotContain("java/util/Optional", "com/palantir/gradle/revapi/ClassFileScannerTest$Fixture");
+    }
+
+    @Test
+    void records_annotations_on_the_class_but_not_its_members() throws IOException {
+        assertThat(ClassFileScanner.scan(classFile(AnnotatedFixture.class)).annotations())
+                .containsExactly("java/lang/Deprecated");
+        assertThat(ClassFileScanner.scan(classFile(Fixture.class)).annotations())
+                .isEmpty();
+    }
+
+    @Test
+    void rejects_things_that_are_not_class_files() {
+        assertThatThrownBy(() -> ClassFileScanner.scan(new byte[] {1, 2, 3, 4}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] classFile(Class<?> clazz) throws IOException {
+        String resource = "/" + clazz.getName().replace('.', '/') + ".class";
+        try (InputStream inputStream = clazz.getResourceAsStream(resource)) {
+            return ByteStreams.toByteArray(inputStream);
+        }
+    }
+
+    @SuppressWarnings({"unused", "VisibilityModifier"})
+    public abstract static class Fixture<T extends Comparable<T>> extends AbstractList<T> implements Serializable {
+        @Deprecated
+        public Map<String, List<Integer>> field;
+
+        private Optional<String> privateField;
+
+        public abstract Function<? super T, ? extends Number> method(Set<T>[] arg) throws IOException;
+
+        private Optional<String> privateMethod() {
+            return privateField;
+        }
+    }
+
+    @Deprecated
+    public static class AnnotatedFixture {}
+}
@@ -0,0 +1,75 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.palantir.gradle.revapi.CompatibilityMatrix.BaselineResults;
+import java.io.File;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CompatibilityMatrixTest {
+    @Test
+    void lists_the_old_versions_each_difference_is_found_against() {
+        AnalysisResult removed = result("java.method.removed", "method void Foo::bar()", null);
+        AnalysisResult added = result("java.method.addedToInterface", null, "method void Foo::baz()");
+
+        Map<String, BaselineResults> resultsPerVersion = new LinkedHashMap<>();
+        resultsPerVersion.put("1.1.0", baselineResults("revapi-results-1.1.0.json", removed));
+        resultsPerVersion.put("1.0.0", baselineResults("revapi-results-1.0.0.json", removed, added));
+
+        CompatibilityMatrix matrix = CompatibilityMatrix.of(resultsPerVersion);
+
+        assertThat(matrix.baselines())
+                .extracting(CompatibilityMatrix.Baseline::version, CompatibilityMatrix.Baseline::differences)
+                .containsExactly(
+                        tuple("1.1.0", 1),
+                        tuple("1.0.0", 2));
+        assertThat(matrix.differences())
+                .extracting(CompatibilityMatrix.Row::code, CompatibilityMatrix.Row::versions)
+                .containsExactly(
+                        tuple("java.method.addedToInterface", listOf("1.0.0")),
+                        tuple("java.method.removed", listOf("1.1.0", "1.0.0")));
+    }
+
+    private static List<String> listOf(String... versions) {
+        return Arrays.asList(versions);
+    }
+
+    private static BaselineResults baselineResults(String resultsFile, AnalysisResult... results) {
+        return BaselineResults.builder()
+                .resultsFile(new File(resultsFile))
+                .results(AnalysisResults.builder()
+                        .archiveNames("foo.jar")
+                        .addResults(results)
+                        .build())
+                .build();
+    }
+
+    private static AnalysisResult result(String code, String oldElement, String newElement) {
+        return AnalysisResult.builder()
+                .code(code)
+                .oldElement(oldElement)
+                .newElement(newElement)
+                .build();
+    }
+}
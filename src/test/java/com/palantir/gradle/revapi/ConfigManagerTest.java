@@ -123,6 +123,111 @@ class ConfigManagerTest {
                 .hasValue(Version.fromString("1.0"));
     }
 
+    @Test
+    void migrateToShards_moves_accepted_breaks_into_one_file_per_project() throws IOException {
+        File configFile = new File(tempDir, "revapi.yml");
+        ConfigManager configManager = new ConfigManager(configFile);
+
+        Files.write(
+                configFile.toPath(),
+                String.join(
+                                "\n",
+                                "versionOverrides:",
+                                "  foo:bar:3.12: \"1.0\"",
+                                "acceptedBreaks:",
+                                "  1.2.3:",
+                                "    foo:bar:",
+                                "      - code: blah",
+                                "        old: old",
+                                "        new: new",
+                                "        justification: j")
+                        .getBytes(StandardCharsets.UTF_8));
+
+        configManager.migrateToShards();
+
+        assertThat(configManager.isSharded()).isTrue();
+        assertThat(configFile)
+                .hasContent(String.join("\n", "versionOverrides:", "  foo:bar:3.12: \"1.0\""));
+        assertThat(new File(tempDir, "revapi/foo/bar.yml"))
+                .hasContent(String.join(
+                        "\n",
+                        "acceptedBreaks:",
+                        "  \"1.2.3\":",
+                        "  - code: \"blah\"",
+                        "    old: \"old\"",
+                        "    new: \"new\"",
+                        "    justification: \"j\""));
+        assertThat(configManager.fromFileOrEmptyIfDoesNotExist().acceptedBreaksFor(GroupAndName.fromString("foo:bar")))
+                .hasSize(1);
+    }
+
+    @Test
+    void sharded_config_writes_accepted_breaks_to_project_shard_and_configFor_only_reads_that_shard() {
+        File configFile = new File(tempDir, "revapi.yml");
+        File shardsDirectory = new File(tempDir, "shards");
+        shardsDirectory.mkdirs();
+        ConfigManager configManager = new ConfigManager(configFile, shardsDirectory);
+
+        configManager.modifyConfigFile(revapiConfig -> revapiConfig
+                .addAcceptedBreaks(GroupNameVersion.fromString("foo:bar:1.0"), ImmutableSet.of(acceptedBreak("one")))
+                .addAcceptedBreaks(GroupNameVersion.fromString("quux:baz:1.0"), ImmutableSet.of(acceptedBreak("two"))));
+
+        assertThat(new File(shardsDirectory, "foo/bar.yml")).exists();
+        assertThat(new File(shardsDirectory, "quux/baz.yml")).exists();
+
+        GradleRevapiConfig fooBarConfig = configManager.configFor(GroupAndName.fromString("foo:bar"));
+        assertThat(fooBarConfig.acceptedBreaksFor(GroupAndName.fromString("foo:bar")))
+                .containsExactly(acceptedBreak("one"));
+        assertThat(fooBarConfig.acceptedBreaksFor(GroupAndName.fromString("quux:baz")))
+                .isEmpty();
+
+        configManager.modifyConfigFile(revapiConfig -> GradleRevapiConfig.empty());
+
+        assertThat(new File(shardsDirectory, "foo/bar.yml")).doesNotExist();
+        assertThat(new File(shardsDirectory, "quux/baz.yml")).doesNotExist();
+    }
+
+    @Test
+    void parsed_config_cache_is_used_until_the_config_file_changes_and_ignores_corrupt_entries() throws IOException {
+        File configFile = new File(tempDir, "revapi.yml");
+        File cacheDirectory = new File(tempDir, "cache");
+        ConfigManager configManager = ConfigManager.withParsedConfigCache(configFile, cacheDirectory);
+        GroupNameVersion fooBar = GroupNameVersion.fromString("foo:bar:3.12");
+
+        Files.write(
+                configFile.toPath(),
+                String.join("\n", "versionOverrides:", "  foo:bar:3.12: \"1.0\"").getBytes(StandardCharsets.UTF_8));
+
+        assertThat(configManager.fromFileOrEmptyIfDoesNotExist().versionOverrideFor(fooBar))
+                .hasValue(Version.fromString("1.0"));
+        File[] cacheFiles = cacheDirectory.listFiles();
+        assertThat(cacheFiles).hasSize(1);
+
+        Files.write(cacheFiles[0].toPath(), "not json".getBytes(StandardCharsets.UTF_8));
+        assertThat(configManager.fromFileOrEmptyIfDoesNotExist().versionOverrideFor(fooBar))
+                .hasValue(Version.fromString("1.0"));
+
+        Files.write(
+                configFile.toPath(),
+                String.join("\n", "versionOverrides:", "  foo:bar:3.12: \"2.0\"").getBytes(StandardCharsets.UTF_8));
+
+        assertThat(configManager.fromFileOrEmptyIfDoesNotExist().versionOverrideFor(fooBar))
+                .hasValue(Version.fromString("2.0"));
+        assertThat(cacheDirectory.listFiles())
+                .describedAs("the entry for the old contents is replaced")
+                .hasSize(1)
+                .doesNotContain(cacheFiles[0]);
+    }
+
+    private static AcceptedBreak acceptedBreak(String code) {
+        return AcceptedBreak.builder()
+                .code(code)
+                .oldElement("old")
+                .newElement("new")
+                .justification("j")
+                .build();
+    }
+
     private UnaryOperator<GradleRevapiConfig> identityFunction() {
         UnaryOperator<GradleRevapiConfig> transformer = mock(UnaryOperator.class);
         when(transformer.apply(any())).thenAnswer(invocation -> invocation.getArgument(0));
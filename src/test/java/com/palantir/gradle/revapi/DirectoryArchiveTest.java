@@ -0,0 +1,92 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.revapi.Archive;
+import org.revapi.simple.FileArchive;
+
+class DirectoryArchiveTest {
+    @TempDir
+    File tempDir;
+
+    @Test
+    void presents_a_directory_as_a_zip_of_its_files() throws IOException {
+        File classes = classesDir("main", "com/palantir/Foo.class", "com/palantir/Bar.class");
+
+        Archive archive = DirectoryArchive.of(classes);
+
+        assertThat(archive.getName()).endsWith("/main");
+        List<String> entries = new ArrayList<>();
+        try (InputStream stream = archive.openStream();
+                ZipInputStream zip = new ZipInputStream(stream)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.add(entry.getName());
+            }
+        }
+        assertThat(entries).containsExactly("com/palantir/Bar.class", "com/palantir/Foo.class");
+    }
+
+    @Test
+    void directories_with_the_same_contents_have_the_same_metadata() throws IOException {
+        ArchiveMetadataCache cache = new ArchiveMetadataCache(Long.MAX_VALUE);
+        File first = classesDir("first", "com/palantir/Foo.class");
+        File second = classesDir("second", "com/palantir/Foo.class");
+
+        assertThat(cache.metadataFor(second)).isSameAs(cache.metadataFor(first));
+        assertThat(cache.metadataFor(first).classNames()).containsExactly("com/palantir/Foo");
+
+        write(first, "com/palantir/Bar.class");
+        assertThat(cache.metadataFor(first).classNames()).containsExactly("com/palantir/Bar", "com/palantir/Foo");
+    }
+
+    @Test
+    void files_are_still_file_archives() throws IOException {
+        File jar = new File(tempDir, "foo.jar");
+        Files.write(jar.toPath(), new byte[0]);
+
+        assertThat(DirectoryArchive.of(jar)).isInstanceOf(FileArchive.class);
+        assertThat(DirectoryArchive.nameOf(jar)).isEqualTo("foo.jar");
+    }
+
+    private File classesDir(String name, String... classFiles) throws IOException {
+        File directory = new File(tempDir, name);
+        for (String classFile : classFiles) {
+            write(directory, classFile);
+        }
+        return directory;
+    }
+
+    private static void write(File directory, String classFile) throws IOException {
+        File file = new File(directory, classFile);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), classFile.getBytes(StandardCharsets.UTF_8));
+    }
+}
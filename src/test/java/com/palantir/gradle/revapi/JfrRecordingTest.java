@@ -0,0 +1,49 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JfrRecordingTest {
+    @TempDir
+    File tempDir;
+
+    @Test
+    void records_phase_events_to_the_output_file() throws IOException {
+        File jfrFile = new File(tempDir, "nested/revapi.jfr");
+        Optional<JfrRecording> recording = JfrRecording.start("revapi test", "default", jfrFile);
+        assumeTrue(recording.isPresent(), "JFR recordings are not supported by this JVM");
+
+        try (PhaseTimer.Span _span = new PhaseTimer().start(RevapiPhase.ANALYZE)) {
+            // nothing to do
+        } finally {
+            recording.get().close();
+        }
+
+        String jfrContents = new String(Files.readAllBytes(jfrFile.toPath()), StandardCharsets.ISO_8859_1);
+        assertThat(jfrContents).startsWith("FLR").contains("com.palantir.gradle.revapi.Phase");
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.palantir.gradle.revapi.RevapiMetricsService.PhaseMetrics;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class PhaseTimerTest {
+    @Test
+    void time_spent_in_nested_phases_only_counts_towards_the_nested_phase() throws InterruptedException {
+        PhaseTimer phaseTimer = new PhaseTimer();
+
+        try (PhaseTimer.Span _analyze = phaseTimer.start(RevapiPhase.ANALYZE)) {
+            Thread.sleep(20);
+            for (int i = 0; i < 2; i++) {
+                try (PhaseTimer.Span _transform = phaseTimer.start(RevapiPhase.TRANSFORMS)) {
+                    Thread.sleep(50);
+                }
+            }
+        }
+
+        Map<RevapiPhase, PhaseMetrics> metrics = phaseTimer.phaseMetrics().stream()
+                .collect(Collectors.toMap(PhaseMetrics::phase, Function.identity()));
+
+        assertThat(metrics).containsOnlyKeys(RevapiPhase.ANALYZE, RevapiPhase.TRANSFORMS);
+        assertThat(metrics.get(RevapiPhase.ANALYZE).count()).isEqualTo(1);
+        assertThat(metrics.get(RevapiPhase.TRANSFORMS).count()).isEqualTo(2);
+        assertThat(metrics.get(RevapiPhase.TRANSFORMS).wallNanos()).isGreaterThanOrEqualTo(100_000_000L);
+        assertThat(metrics.get(RevapiPhase.ANALYZE).wallNanos())
+                .isGreaterThanOrEqualTo(20_000_000L)
+                .isLessThan(metrics.get(RevapiPhase.TRANSFORMS).wallNanos());
+    }
+
+    @Test
+    void spans_of_another_timer_are_not_subtracted_from_the_enclosing_phase() throws InterruptedException {
+        PhaseTimer phaseTimer = new PhaseTimer();
+        PhaseTimer otherPhaseTimer = new PhaseTimer();
+
+        try (PhaseTimer.Span _analyze = phaseTimer.start(RevapiPhase.ANALYZE)) {
+            try (PhaseTimer.Span _otherResolve = otherPhaseTimer.start(RevapiPhase.RESOLVE_OLD_API)) {
+                Thread.sleep(50);
+            }
+        }
+
+        assertThat(phaseTimer.phaseMetrics())
+                .singleElement()
+                .satisfies(metrics -> assertThat(metrics.wallNanos()).isGreaterThanOrEqualTo(50_000_000L));
+        assertThat(otherPhaseTimer.phaseMetrics())
+                .singleElement()
+                .satisfies(metrics -> assertThat(metrics.wallNanos()).isGreaterThanOrEqualTo(50_000_000L));
+    }
+
+    @Test
+    void allocations_are_attributed_to_the_phase() {
+        PhaseTimer phaseTimer = new PhaseTimer();
+
+        byte[][] allocated = new byte[16][];
+        try (PhaseTimer.Span _span = phaseTimer.start(RevapiPhase.LOAD_ARCHIVES)) {
+            for (int i = 0; i < allocated.length; i++) {
+                allocated[i] = new byte[1024 * 1024];
+            }
+        }
+
+        assertThat(allocated[allocated.length - 1]).hasSize(1024 * 1024);
+        assertThat(phaseTimer.phaseMetrics())
+                .singleElement()
+                .satisfies(metrics -> assertThat(metrics.allocatedBytes()).isGreaterThanOrEqualTo(16L * 1024 * 1024));
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableSet;
+import java.io.File;
+import org.jboss.dmr.ModelNode;
+import org.junit.jupiter.api.Test;
+import org.revapi.AnalysisContext;
+import org.revapi.Archive;
+import org.revapi.Element;
+
+class ReportedArchivesFilterTest {
+    @Test
+    void only_applies_to_elements_of_exactly_the_configured_archives() {
+        ReportedArchivesFilter filter = filterFor(new File("/libs/foo-1.0.jar"));
+
+        assertThat(filter.applies(elementIn("foo-1.0.jar"))).isTrue();
+        assertThat(filter.applies(elementIn("foo-1a0.jar")))
+                .describedAs("names are not treated as regexes")
+                .isFalse();
+        assertThat(filter.applies(elementIn("bar-foo-1.0.jar"))).isFalse();
+        assertThat(filter.applies(elementIn(null))).isTrue();
+    }
+
+    @Test
+    void applies_to_everything_when_not_configured() {
+        ReportedArchivesFilter filter = new ReportedArchivesFilter();
+        filter.initialize(AnalysisContext.builder().build().copyWithConfiguration(new ModelNode()));
+
+        assertThat(filter.applies(elementIn("anything.jar"))).isTrue();
+    }
+
+    private static ReportedArchivesFilter filterFor(File... archives) {
+        ModelNode configuration = ModelNode.fromJSONString(
+                ReportedArchivesFilter.configFor(ImmutableSet.copyOf(archives)).configAsString());
+
+        ReportedArchivesFilter filter = new ReportedArchivesFilter();
+        filter.initialize(AnalysisContext.builder()
+                .build()
+                .copyWithConfiguration(configuration.get(0).get("configuration")));
+        return filter;
+    }
+
+    private static Element elementIn(String archiveName) {
+        Element element = mock(Element.class);
+        if (archiveName != null) {
+            Archive archive = mock(Archive.class);
+            when(archive.getName()).thenReturn(archiveName);
+            when(element.getArchive()).thenReturn(archive);
+        }
+        return element;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResultsAggregatorTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void merges_results_and_summarises_them_by_project_and_code() throws IOException {
+        File combinedResultsFile = new File(tempDir, "combined.json");
+        File summaryFile = new File(tempDir, "summary.json");
+
+        try (ResultsAggregator aggregator = new ResultsAggregator(combinedResultsFile, summaryFile, 1)) {
+            aggregator.add(":a", resultsFile("a.json", "java.method.removed", "java.method.removed"));
+            aggregator.add(":b", resultsFile("b.json", "java.class.removed"));
+            aggregator.add(":c", resultsFile("c.json"));
+        }
+
+        JsonNode summary = OBJECT_MAPPER.readTree(summaryFile);
+        assertThat(summary.get("differences").asLong()).isEqualTo(3);
+        assertThat(summary.get("byCode").get("java.method.removed").asLong()).isEqualTo(2);
+        assertThat(summary.get("byCode").get("java.class.removed").asLong()).isEqualTo(1);
+        assertThat(summary.get("topOffenders")).hasSize(1);
+        assertThat(summary.get("topOffenders").get(0).get("project").asText()).isEqualTo(":a");
+
+        JsonNode projectB = summary.get("projects").get(1);
+        assertThat(projectB.get("project").asText()).isEqualTo(":b");
+        assertThat(projectB.get("byCode").get("java.class.removed").asLong()).isEqualTo(1);
+
+        JsonNode combined = OBJECT_MAPPER.readTree(combinedResultsFile);
+        assertThat(combined.get("projects")).hasSize(3);
+        assertThat(combined.get("projects").get(0).get("results")).hasSize(2);
+
+        // The offsets in the summary point at each project's entry in the combined results
+        JsonNode entryB = OBJECT_MAPPER.readTree(read(
+                combinedResultsFile, projectB.get("offset").asLong(), projectB.get("length").asInt()));
+        assertThat(entryB.get("project").asText()).isEqualTo(":b");
+        assertThat(entryB.get("results").get(0).get("code").asText()).isEqualTo("java.class.removed");
+    }
+
+    private File resultsFile(String name, String... codes) throws IOException {
+        StringBuilder contents = new StringBuilder("{\n    \"archiveNames\": \"foo.jar\",\n    \"results\": [\n");
+        for (String code : codes) {
+            // Written with trailing commas, like the freemarker template does
+            contents.append("        {\"code\": \"").append(code).append("\", \"oldElement\": null, ")
+                    .append("\"classification\": {\"BINARY\": \"BREAKING\",}},\n");
+        }
+        contents.append("    ]\n}\n");
+
+        File file = new File(tempDir, name);
+        Files.write(file.toPath(), contents.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String read(File file, long offset, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            randomAccessFile.seek(offset);
+            randomAccessFile.readFully(bytes);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
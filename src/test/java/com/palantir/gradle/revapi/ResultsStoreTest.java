@@ -0,0 +1,105 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.revapi.CompatibilityType;
+import org.revapi.DifferenceSeverity;
+
+class ResultsStoreTest {
+    private static final AnalysisResult METHOD_REMOVED = AnalysisResult.builder()
+            .code("java.method.removed")
+            .oldElement("method void foo.Bar::baz()")
+            .description("Method was removed.")
+            .oldArchiveName("foo-1.0.jar")
+            .classification(ImmutableMap.of(
+                    CompatibilityType.BINARY, DifferenceSeverity.BREAKING,
+                    CompatibilityType.SOURCE, DifferenceSeverity.BREAKING))
+            .build();
+
+    private static final AnalysisResult CLASS_NOW_FINAL = AnalysisResult.builder()
+            .code("java.class.nowFinal")
+            .oldElement("class foo.Quux")
+            .newElement("class foo.Quux")
+            .description("Class is now final.")
+            .oldArchiveName("foo-1.0.jar")
+            .newArchiveName("foo.jar")
+            .classification(ImmutableMap.of(CompatibilityType.SEMANTIC, DifferenceSeverity.POTENTIALLY_BREAKING))
+            .build();
+
+    private static final AnalysisResult OTHER_METHOD_REMOVED = AnalysisResult.builder()
+            .code("java.method.removed")
+            .oldElement("method int foo.Quux::count()")
+            .classification(ImmutableMap.of())
+            .build();
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void round_trips_results() throws IOException {
+        AnalysisResults results = write(METHOD_REMOVED, CLASS_NOW_FINAL, OTHER_METHOD_REMOVED);
+        ResultsStore store = ResultsStore.open(new File(tempDir, "results.bin"));
+
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.archiveNames()).isEqualTo(results.archiveNames());
+        assertThat(store.codes()).containsExactly("java.class.nowFinal", "java.method.removed");
+        assertThat(store.toAnalysisResults().results())
+                .containsExactlyInAnyOrder(METHOD_REMOVED, CLASS_NOW_FINAL, OTHER_METHOD_REMOVED);
+    }
+
+    @Test
+    void queries_by_code_and_element() throws IOException {
+        write(METHOD_REMOVED, CLASS_NOW_FINAL, OTHER_METHOD_REMOVED);
+        ResultsStore store = ResultsStore.open(new File(tempDir, "results.bin"));
+
+        assertThat(store.query(Optional.of("java.method.removed"), Optional.empty()))
+                .containsExactlyInAnyOrder(METHOD_REMOVED, OTHER_METHOD_REMOVED);
+        assertThat(store.query(Optional.empty(), Optional.of("foo.Quux")))
+                .containsExactlyInAnyOrder(CLASS_NOW_FINAL, OTHER_METHOD_REMOVED);
+        assertThat(store.query(Optional.of("java.method.removed"), Optional.of("foo.Quux")))
+                .containsExactly(OTHER_METHOD_REMOVED);
+        assertThat(store.query(Optional.of("java.class.removed"), Optional.empty()))
+                .isEmpty();
+    }
+
+    @Test
+    void stores_empty_results() throws IOException {
+        write();
+        ResultsStore store = ResultsStore.open(new File(tempDir, "results.bin"));
+
+        assertThat(store.size()).isZero();
+        assertThat(store.codes()).isEmpty();
+        assertThat(store.query(Optional.empty(), Optional.of("foo"))).isEmpty();
+    }
+
+    private AnalysisResults write(AnalysisResult... results) throws IOException {
+        AnalysisResults analysisResults = AnalysisResults.builder()
+                .archiveNames("foo.jar")
+                .addResults(results)
+                .build();
+        ResultsStore.write(analysisResults, new File(tempDir, "results.bin"));
+        return analysisResults;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableSet;
+import com.palantir.gradle.revapi.config.AcceptedBreak;
+import java.io.File;
+import java.util.Collections;
+import org.jboss.dmr.ModelNode;
+import org.junit.jupiter.api.Test;
+
+class RevapiConfigTest {
+    @Test
+    void model_node_is_the_same_as_parsing_the_json() {
+        RevapiConfig revapiConfig = RevapiConfig.mergeAll(
+                RevapiConfig.defaults(),
+                RevapiConfig.empty().withTextReporter("template.ftl", new File("/results.json")),
+                AcceptedBreaksTransform.configFor(ImmutableSet.of(AcceptedBreak.builder()
+                        .code("java.method.removed")
+                        .oldElement("method void foo.Bar::baz()")
+                        .justification("removed")
+                        .build())),
+                ImmutablesFilter.CONFIG);
+
+        assertThat(revapiConfig.toModelNode()).isEqualTo(ModelNode.fromJSONString(revapiConfig.configAsString()));
+    }
+
+    @Test
+    void analysis_configs_are_cached_but_every_caller_gets_its_own_copy() {
+        ModelNode first = RevapiAnalysis.config(
+                Collections.singleton(new File("/foo.jar")),
+                new File("/results.json"),
+                Collections.emptySet(),
+                RevapiConfig.empty());
+        ModelNode second = RevapiAnalysis.config(
+                Collections.singleton(new File("/foo.jar")),
+                new File("/results.json"),
+                Collections.emptySet(),
+                RevapiConfig.empty());
+
+        assertThat(second).isEqualTo(first).isNotSameAs(first);
+    }
+
+    @Test
+    void analysis_configs_are_cached_whatever_order_the_accepted_breaks_are_in() {
+        AcceptedBreak removed = AcceptedBreak.builder()
+                .code("java.method.removed")
+                .oldElement("method void foo.Bar::baz()")
+                .justification("removed")
+                .build();
+        AcceptedBreak added = AcceptedBreak.builder()
+                .code("java.method.addedToInterface")
+                .newElement("method void foo.Bar::quux()")
+                .justification("added")
+                .build();
+
+        ModelNode first = RevapiAnalysis.config(
+                Collections.singleton(new File("/foo.jar")),
+                new File("/ordered-results.json"),
+                ImmutableSet.of(removed, added),
+                RevapiConfig.empty());
+        ModelNode second = RevapiAnalysis.config(
+                Collections.singleton(new File("/foo.jar")),
+                new File("/ordered-results.json"),
+                ImmutableSet.of(added, removed),
+                RevapiConfig.empty());
+
+        // The accepted breaks are written in the order they were given, so getting the first order back means the
+        // second config came from the cache
+        assertThat(second).isEqualTo(first);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.revapi.Revapi;
+
+class RevapiEnginesTest {
+    private final RevapiEngines engines = new RevapiEngines();
+
+    @Test
+    void reuses_idle_engines_but_never_shares_one_between_concurrent_analyses() {
+        Revapi first;
+        try (RevapiEngines.Lease lease = engines.lease()) {
+            first = lease.revapi();
+        }
+
+        try (RevapiEngines.Lease reused = engines.lease();
+                RevapiEngines.Lease concurrent = engines.lease()) {
+            assertThat(reused.revapi()).isSameAs(first);
+            assertThat(concurrent.revapi()).isNotSameAs(first);
+        }
+    }
+
+    @Test
+    void builds_new_engines_once_cleared() {
+        Revapi first;
+        try (RevapiEngines.Lease lease = engines.lease()) {
+            first = lease.revapi();
+        }
+
+        engines.clear();
+
+        try (RevapiEngines.Lease lease = engines.lease()) {
+            assertThat(lease.revapi()).isNotSameAs(first);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class SupportArchivePrunerTest {
+    private static final File API = new File("api.jar");
+    private static final File DIRECT = new File("direct.jar");
+    private static final File TRANSITIVE = new File("transitive.jar");
+    private static final File SHADOWED = new File("shadowed.jar");
+    private static final File UNUSED = new File("unused.jar");
+
+    @Test
+    void keeps_only_support_archives_providing_classes_reachable_from_the_api() {
+        Map<File, ArchiveMetadata> metadata = ImmutableMap.<File, ArchiveMetadata>builder()
+                .put(API, metadata("api/Api", "direct/Direct", "java/lang/String"))
+                .put(DIRECT, metadata("direct/Direct", "transitive/Transitive"))
+                .put(TRANSITIVE, metadata("transitive/Transitive"))
+                .put(SHADOWED, metadata("direct/Direct"))
+                .put(UNUSED, metadata("unused/Unused"))
+                .build();
+
+        List<File> reachable = SupportArchivePruner.reachableSupportArchives(
+                ImmutableList.of(API), ImmutableList.of(UNUSED, DIRECT, SHADOWED, TRANSITIVE), metadata::get);
+
+        assertThat(reachable).containsExactly(DIRECT, TRANSITIVE);
+    }
+
+    private static ArchiveMetadata metadata(String className, String... apiReferences) {
+        return ArchiveMetadata.builder()
+                .contentHash(className)
+                .addClassNames(className)
+                .putApiReferencesByClass(className, ImmutableSet.copyOf(apiReferences))
+                .build();
+    }
+}
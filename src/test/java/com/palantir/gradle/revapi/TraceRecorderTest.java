@@ -0,0 +1,82 @@
+/*
+ * (c) Copyright 2026 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.palantir.gradle.revapi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TraceRecorderTest {
+    @TempDir
+    File tempDir;
+
+    @Test
+    void writes_complete_events_tagged_with_project_and_thread() throws IOException, InterruptedException {
+        TraceRecorder traceRecorder = new TraceRecorder();
+        PhaseTimer phaseTimer = new PhaseTimer(":foo", Optional.of(traceRecorder));
+
+        try (PhaseTimer.Span _analyze = phaseTimer.start(RevapiPhase.ANALYZE);
+                PhaseTimer.Span _transforms = phaseTimer.start(RevapiPhase.TRANSFORMS)) {
+            Thread otherThread = new Thread(
+                    () -> {
+                        try (TraceRecorder.Span _span =
+                                phaseTimer.trace("resolve old version", ImmutableMap.of("version", "1.2.3"))) {
+                            // nothing to do
+                        }
+                    },
+                    "other-thread");
+            otherThread.start();
+            otherThread.join();
+        }
+
+        File traceFile = new File(tempDir, "trace.json");
+        traceRecorder.write(traceFile);
+
+        JsonNode trace = new ObjectMapper().readTree(traceFile);
+        List<JsonNode> completeEvents = StreamSupport.stream(trace.get("traceEvents").spliterator(), false)
+                .filter(event -> event.get("ph").asText().equals("X"))
+                .collect(Collectors.toList());
+
+        assertThat(completeEvents)
+                .extracting(event -> event.get("name").asText())
+                .containsExactlyInAnyOrder("resolve old version", "ANALYZE");
+        assertThat(completeEvents).allSatisfy(event -> {
+            assertThat(event.get("args").get("project").asText()).isEqualTo(":foo");
+            assertThat(event.get("dur").asLong()).isNotNegative();
+        });
+        assertThat(completeEvents.stream()
+                        .filter(event -> event.get("name").asText().equals("resolve old version"))
+                        .map(event -> event.get("args")))
+                .singleElement()
+                .satisfies(args -> {
+                    assertThat(args.get("thread").asText()).isEqualTo("other-thread");
+                    assertThat(args.get("version").asText()).isEqualTo("1.2.3");
+                });
+
+        assertThat(trace.get("traceEvents").toString()).contains("thread_name", "other-thread");
+    }
+}
@@ -19,6 +19,9 @@ package com.palantir.gradle.revapi.config;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Iterables;
+import java.io.IOException;
 import org.junit.jupiter.api.Test;
 
 class GradleRevapiConfigTest {
@@ -56,6 +59,38 @@ class GradleRevapiConfigTest {
         assertThat(gradleRevapiConfig.versionOverrideFor(QUUX_BAZ_10)).isEmpty();
     }
 
+    @Test
+    void accepted_breaks_share_interned_strings_and_are_stored_compactly() throws IOException {
+        String yml = String.join(
+                "\n",
+                "acceptedBreaks:",
+                "  \"1.0\":",
+                "    foo:bar:",
+                "    - code: \"code\"",
+                "      old: \"method void Foo::bar()\"",
+                "      justification: \"j\"",
+                "  \"2.0\":",
+                "    foo:bar:",
+                "    - code: \"code\"",
+                "      old: \"method void Foo::bar()\"",
+                "      justification: \"j\"");
+
+        GradleRevapiConfig gradleRevapiConfig =
+                GradleRevapiConfig.newYamlObjectMapper().readValue(yml, GradleRevapiConfig.class);
+
+        PerProjectAcceptedBreaks version1 = gradleRevapiConfig.acceptedBreaks().get(Version.fromString("1.0"));
+        PerProjectAcceptedBreaks version2 = gradleRevapiConfig.acceptedBreaks().get(Version.fromString("2.0"));
+        AcceptedBreak first = Iterables.getOnlyElement(version1.acceptedBreaksFor(FOO_BAR_312.groupAndName()));
+        AcceptedBreak second = Iterables.getOnlyElement(version2.acceptedBreaksFor(FOO_BAR_312.groupAndName()));
+
+        assertThat(first.code()).isSameAs(second.code());
+        assertThat(first.oldElement().get()).isSameAs(second.oldElement().get());
+        assertThat(first.justification()).isSameAs(second.justification());
+        assertThat(version1.acceptedBreaks())
+                .allSatisfy((_groupAndName, acceptedBreaks) ->
+                        assertThat(acceptedBreaks).isInstanceOf(ImmutableSortedSet.class));
+    }
+
     private AcceptedBreak acceptedBreak(String suffix) {
         return AcceptedBreak.builder()
                 .code("code" + suffix)